@@ -0,0 +1,29 @@
+package com.minishop.gateway.controller;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+
+/**
+ * Target of the routes' {@code CircuitBreaker} fallbackUri: answers 503 while a backend is failing,
+ * timing out or its breaker is open.
+ */
+@RestController
+public class FallbackController {
+
+    @RequestMapping("/fallback")
+    public ResponseEntity<Map<String, String>> fallback(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String service = route != null ? route.getUri().getHost() : "service";
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(Map.of("message", "Error: " + service + " is temporarily unavailable, please try again later."));
+    }
+}
@@ -0,0 +1,140 @@
+package com.minishop.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The built-in {@code Retry} filter with a retry budget per route: every first attempt of a retryable
+ * method earns {@code budgetRatio} of a retry, up to {@code budgetCapacity} saved retries. Once the
+ * budget is spent, failures are returned as 503 instead of being retried, so retries cannot multiply
+ * the load on a backend that is already failing. Takes the same arguments as {@code Retry}.
+ *
+ * <pre>
+ * filters:
+ *   - name: BudgetedRetry
+ *     args:
+ *       retries: 2
+ *       methods: GET,HEAD
+ *       budgetRatio: 0.2
+ *       budgetCapacity: 10
+ * </pre>
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private final RetryGatewayFilterFactory retryGatewayFilterFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    // Route id -> retries skipped for an empty budget, registered on first exhaustion
+    private final Map<String, Counter> exhaustedCounters = new ConcurrentHashMap<>();
+
+    public BudgetedRetryGatewayFilterFactory(RetryGatewayFilterFactory retryGatewayFilterFactory,
+                                             MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.retryGatewayFilterFactory = retryGatewayFilterFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter retry = retryGatewayFilterFactory.apply(config);
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getBudgetCapacity());
+
+        return (exchange, chain) -> {
+            if (!config.getMethods().contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            // Retry re-subscribes to the rest of the chain, so every subscription is one attempt
+            AtomicInteger attempts = new AtomicInteger();
+            return retry.filter(exchange, attempt -> Mono.defer(() -> {
+                if (attempts.getAndIncrement() == 0) {
+                    budget.deposit();
+                } else if (!budget.tryWithdraw()) {
+                    exhaustedCounter(attempt).increment();
+                    return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Retry budget exhausted"));
+                }
+                return chain.filter(attempt);
+            }));
+        };
+    }
+
+    private Counter exhaustedCounter(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        return exhaustedCounters.computeIfAbsent(routeId, id -> Counter.builder("gateway.retry.budget.exhausted")
+                .description("Retries skipped because the route's retry budget was spent")
+                .tag("route", id)
+                .register(meterRegistry));
+    }
+
+    public static class Config extends RetryGatewayFilterFactory.RetryConfig {
+        private double budgetRatio = 0.2;
+        private int budgetCapacity = 10;
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getBudgetCapacity() {
+            return budgetCapacity;
+        }
+
+        public void setBudgetCapacity(int budgetCapacity) {
+            this.budgetCapacity = budgetCapacity;
+        }
+    }
+
+    /**
+     * Balance of retries in thousandths, updated without locks. Starts full so a quiet route can still retry.
+     */
+    static final class RetryBudget {
+        private static final long SCALE = 1000;
+
+        private final long depositPerRequest;
+        private final long maxBalance;
+        private final AtomicLong balance;
+
+        RetryBudget(double ratio, int capacity) {
+            this.depositPerRequest = Math.round(ratio * SCALE);
+            this.maxBalance = capacity * SCALE;
+            this.balance = new AtomicLong(maxBalance);
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+        }
+
+        boolean tryWithdraw() {
+            while (true) {
+                long current = balance.get();
+                if (current < SCALE) {
+                    return false;
+                }
+                if (balance.compareAndSet(current, current - SCALE)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
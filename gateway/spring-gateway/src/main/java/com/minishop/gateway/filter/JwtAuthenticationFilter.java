@@ -0,0 +1,112 @@
+package com.minishop.gateway.filter;
+
+import com.minishop.gateway.security.JwtVerifier;
+import com.minishop.gateway.security.JwtVerifier.Identity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the bearer token once at the edge and forwards the caller's identity to the backends as
+ * trusted headers. Identity headers sent by the client are always removed. A bearer token that fails
+ * verification is answered with 401, except on the public paths in {@code app.jwt.public-paths} (signin,
+ * refresh, ...), where clients routinely still send their expired access token: there the token is
+ * dropped and the request forwarded anonymously. Requests without a token are forwarded without
+ * identity headers, so each backend still decides what anonymous callers may do. The identity is also
+ * stored as an exchange attribute for later gateway filters.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    public static final String IDENTITY_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".identity";
+
+    // Before the other global filters, so they can rely on the identity attribute
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+
+    private final JwtVerifier jwtVerifier;
+
+    private final List<PathPattern> publicPaths;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier,
+                                   @Value("${app.jwt.public-paths:/api/users/auth/**}") List<String> publicPaths) {
+        this.jwtVerifier = jwtVerifier;
+        this.publicPaths = publicPaths.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Optional<String> token = bearerToken(request);
+        Optional<Identity> identity = token.flatMap(jwtVerifier::verify);
+        boolean unverifiable = token.isPresent() && identity.isEmpty();
+        if (unverifiable && !isPublic(request)) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, INVALID_TOKEN_CHALLENGE);
+            return response.setComplete();
+        }
+        identity.ifPresent(verified -> exchange.getAttributes().put(IDENTITY_ATTRIBUTE, verified));
+
+        ServerHttpRequest forwarded = request.mutate()
+                .headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    headers.remove(USER_NAME_HEADER);
+                    headers.remove(USER_ROLES_HEADER);
+                    if (unverifiable) {
+                        headers.remove(HttpHeaders.AUTHORIZATION);
+                    }
+                    identity.ifPresent(verified -> {
+                        if (verified.userId() != null) {
+                            headers.set(USER_ID_HEADER, verified.userId());
+                        }
+                        headers.set(USER_NAME_HEADER, verified.username());
+                        headers.set(USER_ROLES_HEADER, verified.roles());
+                    });
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private boolean isPublic(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        return publicPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static Optional<String> bearerToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX) || header.length() == BEARER_PREFIX.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(header.substring(BEARER_PREFIX.length()));
+    }
+}
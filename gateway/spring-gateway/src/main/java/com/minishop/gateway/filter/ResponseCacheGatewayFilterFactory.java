@@ -0,0 +1,279 @@
+package com.minishop.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.minishop.gateway.security.JwtVerifier.Identity;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caches successful GET responses of a route, keyed by path, query and the caller's token subject.
+ * Concurrent misses for the same key share one upstream call: the first request fetches while the
+ * others wait for its result. Hits answer {@code If-None-Match} with 304. Only responses with a
+ * {@code Content-Length} up to {@code maxBodySize} are cached; responses that set cookies, are marked
+ * {@code no-store}, are NDJSON or otherwise streamed are passed through uncached, and waiting requests
+ * are released to go upstream themselves as soon as the first response turns out not to be cacheable.
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       ttl: 30s
+ *       maxEntries: 10000
+ *       maxBodySize: 256KB
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    // Before NettyWriteResponseFilter, so the response it writes is the capturing decorator
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final List<String> UNCACHED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, CACHE_HEADER);
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(new ResponseCacheFilter(config), ORDER);
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxEntries = 10_000;
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+
+    record CachedResponse(HttpHeaders headers, byte[] body, String etag) {
+    }
+
+    private static class ResponseCacheFilter implements GatewayFilter {
+        private final long maxBodyBytes;
+
+        // Incomplete futures are upstream calls in flight; a future completed with null is removed
+        private final AsyncCache<String, CachedResponse> cache;
+
+        ResponseCacheFilter(Config config) {
+            this.maxBodyBytes = config.getMaxBodySize().toBytes();
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(config.getMaxEntries())
+                    .expireAfterWrite(config.getTtl())
+                    .buildAsync();
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            String key = cacheKey(exchange);
+            if (key == null) {
+                return chain.filter(exchange);
+            }
+
+            CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> existing = cache.asMap().putIfAbsent(key, pending);
+            if (existing != null) {
+                // Without a cacheable result the request goes upstream on its own
+                return Mono.fromFuture(existing)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(cached -> cached.isPresent()
+                                ? writeCached(exchange, cached.get())
+                                : chain.filter(exchange));
+            }
+
+            return chain.filter(exchange.mutate().response(capture(exchange.getResponse(), pending)).build())
+                    .doFinally(signal -> pending.complete(null));
+        }
+
+        /**
+         * Returns null for requests that must not be cached: anything but GET, and requests whose
+         * token the gateway could not verify, since the backend may still treat them differently.
+         */
+        private String cacheKey(ServerWebExchange exchange) {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return null;
+            }
+
+            Identity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE);
+            if (identity == null && request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                return null;
+            }
+
+            String subject = identity != null ? identity.username() : "";
+            String query = request.getURI().getRawQuery();
+            return subject + ' ' + request.getURI().getRawPath() + (query != null ? '?' + query : "");
+        }
+
+        private ServerHttpResponse capture(ServerHttpResponse response, CompletableFuture<CachedResponse> pending) {
+            return new ServerHttpResponseDecorator(response) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (!isCacheable(getDelegate())) {
+                        pending.complete(null);
+                        return super.writeWith(body);
+                    }
+
+                    getHeaders().set(CACHE_HEADER, "MISS");
+                    BodyCapture capture = new BodyCapture(maxBodyBytes, () -> pending.complete(null));
+                    Flux<? extends DataBuffer> copied = Flux.from(body)
+                            .doOnNext(capture::append)
+                            .doOnComplete(() -> pending.complete(capture.toCachedResponse(getDelegate().getHeaders())));
+                    return super.writeWith(copied);
+                }
+
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                    // Flushed element by element: a stream, which is never cached
+                    pending.complete(null);
+                    return super.writeAndFlushWith(body);
+                }
+            };
+        }
+
+        private boolean isCacheable(ServerHttpResponse response) {
+            HttpHeaders headers = response.getHeaders();
+            String cacheControl = headers.getCacheControl();
+            long contentLength = headers.getContentLength();
+            return response.getStatusCode() == HttpStatus.OK
+                    && contentLength >= 0 && contentLength <= maxBodyBytes
+                    && !MediaType.APPLICATION_NDJSON.isCompatibleWith(headers.getContentType())
+                    && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && (cacheControl == null || !cacheControl.contains("no-store"));
+        }
+
+        private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().putAll(cached.headers());
+            response.getHeaders().setETag(cached.etag());
+            response.getHeaders().set(CACHE_HEADER, "HIT");
+
+            if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                return response.setComplete();
+            }
+
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentLength(cached.body().length);
+            return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+        }
+
+        private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+            String opaque = stripWeak(etag);
+            for (String candidate : request.getHeaders().getIfNoneMatch()) {
+                if ("*".equals(candidate) || opaque.equals(stripWeak(candidate))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String stripWeak(String etag) {
+            return etag.startsWith("W/") ? etag.substring(2) : etag;
+        }
+    }
+
+    /**
+     * Copies the body as it streams to the client, giving up once it grows past the limit.
+     */
+    private static class BodyCapture {
+        private final long maxBytes;
+        private final Runnable onOverflow;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean overflow;
+
+        BodyCapture(long maxBytes, Runnable onOverflow) {
+            this.maxBytes = maxBytes;
+            this.onOverflow = onOverflow;
+        }
+
+        void append(DataBuffer buffer) {
+            if (overflow) {
+                return;
+            }
+            int readable = buffer.readableByteCount();
+            if (bytes.size() + readable > maxBytes) {
+                overflow = true;
+                bytes.reset();
+                onOverflow.run();
+                return;
+            }
+            byte[] chunk = new byte[readable];
+            // Read through a view so the buffer's read position is left for the actual write
+            buffer.asByteBuffer().get(chunk);
+            bytes.write(chunk, 0, readable);
+        }
+
+        CachedResponse toCachedResponse(HttpHeaders responseHeaders) {
+            if (overflow) {
+                return null;
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+            responseHeaders.forEach((name, values) -> {
+                if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            byte[] body = bytes.toByteArray();
+            String etag = responseHeaders.getETag() != null
+                    ? responseHeaders.getETag()
+                    : "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            headers.remove(HttpHeaders.ETAG);
+            return new CachedResponse(headers, body, etag);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.minishop.gateway.httpclient;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(BackendPoolProperties.class)
+public class BackendHttpClientConfiguration {
+
+    @Bean
+    public ServiceRoutingFilter serviceRoutingFilter(HttpClient httpClient,
+                                                     ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                                     HttpClientProperties httpClientProperties,
+                                                     ServerProperties serverProperties,
+                                                     HttpClientSslConfigurer sslConfigurer,
+                                                     List<HttpClientCustomizer> customizers,
+                                                     BackendPoolProperties backendPoolProperties) {
+        Map<String, HttpClient> serviceClients = new HashMap<>();
+        List<ConnectionProvider> connectionProviders = new ArrayList<>();
+        backendPoolProperties.getServices().forEach((serviceId, pool) -> {
+            ServiceHttpClientFactory factory = new ServiceHttpClientFactory(serviceId, pool, httpClientProperties,
+                    serverProperties, sslConfigurer, customizers);
+            serviceClients.put(serviceId.toLowerCase(Locale.ROOT), factory.build());
+            connectionProviders.add(factory.getConnectionProvider());
+        });
+        return new ServiceRoutingFilter(httpClient, serviceClients, connectionProviders, headersFiltersProvider,
+                httpClientProperties);
+    }
+
+    /**
+     * Writes the backend response body to the client. The built-in one is only created alongside the
+     * built-in routing filter, so it is gone once that filter is disabled.
+     */
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+    }
+}
@@ -0,0 +1,106 @@
+package com.minishop.gateway.httpclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools for individual {@code lb://} services, keyed by service id. Unset values fall back
+ * to {@code spring.cloud.gateway.httpclient.pool}; services without an entry share the default pool.
+ */
+@ConfigurationProperties("app.httpclient")
+public class BackendPoolProperties {
+
+    private Map<String, Pool> services = new LinkedHashMap<>();
+
+    public Map<String, Pool> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Pool> services) {
+        this.services = services;
+    }
+
+    public static class Pool {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        private boolean tcpKeepAlive = true;
+        private Protocol protocol = Protocol.HTTP11;
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Integer getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isTcpKeepAlive() {
+            return tcpKeepAlive;
+        }
+
+        public void setTcpKeepAlive(boolean tcpKeepAlive) {
+            this.tcpKeepAlive = tcpKeepAlive;
+        }
+
+        public Protocol getProtocol() {
+            return protocol;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            this.protocol = protocol;
+        }
+    }
+
+    public enum Protocol {
+        HTTP11,
+        // Cleartext HTTP/2, upgraded from HTTP/1.1 so backends without h2c support still work
+        H2C
+    }
+}
@@ -0,0 +1,88 @@
+package com.minishop.gateway.httpclient;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the gateway's {@link HttpClient} for one service: same timeouts, SSL, proxy and customizers
+ * as the default client, but its own connection pool named after the service and optionally h2c.
+ */
+class ServiceHttpClientFactory extends HttpClientFactory {
+
+    private final String serviceId;
+
+    private final BackendPoolProperties.Pool pool;
+
+    private ConnectionProvider connectionProvider;
+
+    ServiceHttpClientFactory(String serviceId, BackendPoolProperties.Pool pool, HttpClientProperties properties,
+                             ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+                             List<HttpClientCustomizer> customizers) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.serviceId = serviceId;
+        this.pool = pool;
+    }
+
+    @Override
+    protected HttpClient createInstance() {
+        HttpClient httpClient = super.createInstance()
+                .option(ChannelOption.SO_KEEPALIVE, pool.isTcpKeepAlive());
+        if (pool.getProtocol() == BackendPoolProperties.Protocol.H2C) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool defaults = properties.getPool();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(serviceId)
+                .metrics(defaults.isMetrics());
+
+        Integer maxConnections = pool.getMaxConnections() != null ? pool.getMaxConnections() : defaults.getMaxConnections();
+        if (maxConnections != null) {
+            builder.maxConnections(maxConnections);
+        }
+        if (pool.getPendingAcquireMaxCount() != null) {
+            builder.pendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+        }
+        Duration pendingAcquireTimeout = pool.getPendingAcquireTimeout() != null ? pool.getPendingAcquireTimeout()
+                : defaults.getAcquireTimeout() != null ? Duration.ofMillis(defaults.getAcquireTimeout()) : null;
+        if (pendingAcquireTimeout != null) {
+            builder.pendingAcquireTimeout(pendingAcquireTimeout);
+        }
+        Duration maxIdleTime = pool.getMaxIdleTime() != null ? pool.getMaxIdleTime() : defaults.getMaxIdleTime();
+        if (maxIdleTime != null) {
+            builder.maxIdleTime(maxIdleTime);
+        }
+        Duration maxLifeTime = pool.getMaxLifeTime() != null ? pool.getMaxLifeTime() : defaults.getMaxLifeTime();
+        if (maxLifeTime != null) {
+            builder.maxLifeTime(maxLifeTime);
+        }
+        Duration evictionInterval = pool.getEvictionInterval() != null ? pool.getEvictionInterval() : defaults.getEvictionInterval();
+        if (evictionInterval != null) {
+            builder.evictInBackground(evictionInterval);
+        }
+
+        connectionProvider = builder.build();
+        return connectionProvider;
+    }
+
+    HttpClient build() {
+        return createInstance();
+    }
+
+    ConnectionProvider getConnectionProvider() {
+        return connectionProvider;
+    }
+}
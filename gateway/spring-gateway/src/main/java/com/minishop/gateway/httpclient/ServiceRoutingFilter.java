@@ -0,0 +1,60 @@
+package com.minishop.gateway.httpclient;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link NettyRoutingFilter} that sends {@code lb://} routes of services with their own pool through
+ * that service's client. Replaces the built-in routing filter, which is disabled in the configuration.
+ */
+public class ServiceRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+
+    private final Map<String, HttpClient> serviceClients;
+
+    private final List<ConnectionProvider> connectionProviders;
+
+    public ServiceRoutingFilter(HttpClient httpClient, Map<String, HttpClient> serviceClients,
+                                List<ConnectionProvider> connectionProviders,
+                                ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                HttpClientProperties properties) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.serviceClients = serviceClients;
+        this.connectionProviders = connectionProviders;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        URI routeUri = route.getUri();
+        HttpClient serviceClient = "lb".equals(routeUri.getScheme()) && routeUri.getHost() != null
+                ? serviceClients.get(routeUri.getHost().toLowerCase(Locale.ROOT))
+                : null;
+        if (serviceClient == null) {
+            return super.getHttpClient(route, exchange);
+        }
+
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return serviceClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.valueOf(connectTimeout.toString()));
+        }
+        return serviceClient;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+}
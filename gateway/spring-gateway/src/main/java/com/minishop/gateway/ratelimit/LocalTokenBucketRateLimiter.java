@@ -0,0 +1,184 @@
+package com.minishop.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Min;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory token bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} for the
+ * built-in {@code RequestRateLimiter} filter, so no Redis is needed. Buckets are per route and key and
+ * are updated with a compare-and-set loop instead of locks. A bucket left idle until it is full again is
+ * evicted, since a new bucket starts full anyway. Limits are per gateway instance.
+ *
+ * <pre>
+ * filters:
+ *   - name: RequestRateLimiter
+ *     args:
+ *       key-resolver: "#{@clientIpKeyResolver}"
+ *       local-rate-limiter.replenish-rate: 1
+ *       local-rate-limiter.burst-capacity: 5
+ * </pre>
+ */
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Config defaultConfig;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    // Route id -> rejected requests, registered on first rejection
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.rate-limiter.replenish-rate:10}") int replenishRate,
+                                       @Value("${app.rate-limiter.burst-capacity:20}") int burstCapacity,
+                                       @Value("${app.rate-limiter.max-buckets:100000}") long maxBuckets) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config().setReplenishRate(replenishRate).setBurstCapacity(burstCapacity);
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(new Expiry<String, TokenBucket>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenBucket bucket, long currentTime) {
+                        return bucket.refillNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+                        return bucket.refillNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+                        return bucket.refillNanos;
+                    }
+                })
+                .build();
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently held by the local rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucket bucket = buckets.get(routeId + ' ' + id, key -> new TokenBucket(config));
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), System.nanoTime());
+
+        boolean allowed = remaining >= 0;
+        if (!allowed) {
+            rejectedCounter(routeId).increment();
+        }
+        return Mono.just(new Response(allowed, Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()))));
+    }
+
+    private Counter rejectedCounter(String routeId) {
+        return rejectedCounters.computeIfAbsent(routeId, route -> Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests rejected by the local rate limiter")
+                .tag("route", route)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Tokens refill continuously at {@code replenishRate} per second up to {@code burstCapacity}.
+     */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private final long refillNanos;
+        private final AtomicReference<State> state;
+
+        TokenBucket(Config config) {
+            this.capacity = config.getBurstCapacity();
+            this.tokensPerNano = config.getReplenishRate() / (double) TimeUnit.SECONDS.toNanos(1);
+            this.refillNanos = (long) Math.ceil(capacity / tokensPerNano);
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /**
+         * Takes the tokens if available and returns how many are left, or -1 if the request is rejected.
+         */
+        long tryConsume(int requested, long now) {
+            while (true) {
+                State current = state.get();
+                long refilledAt = Math.max(current.refilledAt(), now);
+                double tokens = Math.min(capacity, current.tokens() + (refilledAt - current.refilledAt()) * tokensPerNano);
+                boolean allowed = tokens >= requested;
+                State next = new State(allowed ? tokens - requested : tokens, refilledAt);
+                if (state.compareAndSet(current, next)) {
+                    return allowed ? (long) next.tokens() : -1;
+                }
+            }
+        }
+
+        private record State(double tokens, long refilledAt) {
+        }
+    }
+
+    @Validated
+    public static class Config {
+        @Min(1)
+        private int replenishRate;
+
+        @Min(1)
+        private int burstCapacity = 1;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.minishop.gateway.ratelimit;
+
+import com.minishop.gateway.filter.JwtAuthenticationFilter;
+import com.minishop.gateway.security.JwtVerifier.Identity;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Keys for {@code RequestRateLimiter}. Routes use the token subject by default and can select
+ * {@code #{@clientIpKeyResolver}} where callers are not signed in yet, such as signin.
+ */
+@Configuration
+public class RateLimitKeyResolvers {
+
+    @Bean
+    @Primary
+    public KeyResolver subjectOrIpKeyResolver() {
+        return exchange -> {
+            Identity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE);
+            return identity != null ? Mono.just("user:" + identity.username()) : Mono.just("ip:" + clientIp(exchange));
+        };
+    }
+
+    @Bean
+    public KeyResolver clientIpKeyResolver() {
+        return exchange -> Mono.just("ip:" + clientIp(exchange));
+    }
+
+    // The gateway is the edge, so the socket address is the client; forwarded headers are not trusted
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,133 @@
+package com.minishop.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the HS256 access tokens issued by user-service. The key and parser are built once, and the
+ * identity of every verified token is remembered until the token expires, so a client's repeated
+ * requests are checked with a single digest lookup.
+ */
+@Component
+public class JwtVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    // Claim names written by user-service's JwtUtils
+    static final String CLAIM_USER_ID = "id";
+    static final String CLAIM_ROLES = "roles";
+
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${app.jwt.issuer}")
+    private String issuer;
+
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private JwtParser parser;
+
+    // Identities of verified tokens, keyed by token digest and dropped at token expiry
+    private Cache<String, Identity> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .requireIssuer(issuer)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Identity>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Identity identity, long currentTime) {
+                        long remainingMs = identity.expiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Identity identity, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Identity identity, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the identity carried by the token, or empty if the token is invalid or expired.
+     */
+    public Optional<Identity> verify(String token) {
+        String digest = digest(token);
+        Identity identity = verifiedTokens.getIfPresent(digest);
+        if (identity != null) {
+            return Optional.of(identity);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) {
+                logger.debug("Rejected JWT without expiration for {}", claims.getSubject());
+                return Optional.empty();
+            }
+            identity = Identity.from(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        verifiedTokens.put(digest, identity);
+        return Optional.of(identity);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The caller as stated by a verified token. {@code userId} is null for tokens issued before
+     * user-service added the id claim.
+     */
+    public record Identity(String userId, String username, String roles, long expiresAt) {
+
+        static Identity from(Claims claims) {
+            Object id = claims.get(CLAIM_USER_ID);
+            List<?> roles = claims.get(CLAIM_ROLES, List.class);
+            return new Identity(
+                    id != null ? String.valueOf(id) : null,
+                    claims.getSubject(),
+                    roles != null ? roles.stream().map(String::valueOf).collect(Collectors.joining(",")) : "",
+                    claims.getExpiration().getTime());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.minishop.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BudgetedRetryGatewayFilterFactoryTest {
+
+    private static final String ROUTE = "test-route";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GatewayFilter filter;
+
+    private AtomicInteger attempts;
+
+    private GatewayFilterChain failing;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        BudgetedRetryGatewayFilterFactory.Config config = new BudgetedRetryGatewayFilterFactory.Config();
+        config.setRetries(2);
+        config.setMethods(HttpMethod.GET);
+        // One saved retry and no new ones earned
+        config.setBudgetCapacity(1);
+        config.setBudgetRatio(0);
+        filter = new BudgetedRetryGatewayFilterFactory(new RetryGatewayFilterFactory(), meterRegistry).apply(config);
+
+        attempts = new AtomicInteger();
+        failing = exchange -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("connection reset"));
+        };
+    }
+
+    @Test
+    public void testRetriesUntilBudgetIsSpent() {
+        // When
+        Throwable error = assertThrows(ResponseStatusException.class, () -> filter.filter(get(), failing).block());
+
+        // Then - the first attempt plus the one retry the budget allowed
+        assertEquals(2, attempts.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseStatusException) error).getStatus());
+        assertEquals(1.0, exhaustedCount());
+    }
+
+    @Test
+    public void testExhaustedBudgetAnswers503WithoutRetrying() {
+        // Given
+        assertThrows(ResponseStatusException.class, () -> filter.filter(get(), failing).block());
+        attempts.set(0);
+
+        // When
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> filter.filter(get(), failing).block());
+
+        // Then
+        assertEquals(1, attempts.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatus());
+        assertEquals(2.0, exhaustedCount());
+    }
+
+    @Test
+    public void testOtherMethodsAreNotRetried() {
+        // Given
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/orders"));
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class, () -> filter.filter(post, failing).block());
+
+        // Then
+        assertInstanceOf(IOException.class, Exceptions.unwrap(error));
+        assertEquals(1, attempts.get());
+    }
+
+    private double exhaustedCount() {
+        return meterRegistry.get("gateway.retry.budget.exhausted").tag("route", ROUTE).counter().count();
+    }
+
+    private static MockServerWebExchange get() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(ROUTE)
+                .uri("http://localhost")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,127 @@
+package com.minishop.gateway.filter;
+
+import com.minishop.gateway.security.JwtTestTokens;
+import com.minishop.gateway.security.JwtVerifier.Identity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private JwtAuthenticationFilter filter;
+
+    private AtomicReference<ServerWebExchange> forwarded;
+
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    public void setup() {
+        filter = new JwtAuthenticationFilter(JwtTestTokens.verifier(), List.of("/api/users/auth/**"));
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    public void testValidTokenForwardsIdentity() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + JwtTestTokens.token("testuser")));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("42", headers.getFirst(JwtAuthenticationFilter.USER_ID_HEADER));
+        assertEquals("testuser", headers.getFirst(JwtAuthenticationFilter.USER_NAME_HEADER));
+        assertEquals("ROLE_USER,ROLE_ADMIN", headers.getFirst(JwtAuthenticationFilter.USER_ROLES_HEADER));
+        Identity identity = forwarded.get().getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE);
+        assertEquals("testuser", identity.username());
+    }
+
+    @Test
+    public void testSpoofedIdentityHeadersAreStripped() {
+        // Given - no token, but identity headers claiming to be an admin
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "1")
+                .header(JwtAuthenticationFilter.USER_NAME_HEADER, "admin")
+                .header(JwtAuthenticationFilter.USER_ROLES_HEADER, "ROLE_ADMIN"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        ServerHttpRequest request = forwarded.get().getRequest();
+        assertFalse(request.getHeaders().containsKey(JwtAuthenticationFilter.USER_ID_HEADER));
+        assertFalse(request.getHeaders().containsKey(JwtAuthenticationFilter.USER_NAME_HEADER));
+        assertFalse(request.getHeaders().containsKey(JwtAuthenticationFilter.USER_ROLES_HEADER));
+        assertNull(forwarded.get().getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE));
+    }
+
+    @Test
+    public void testSpoofedIdentityHeadersAreReplacedByTokenIdentity() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + JwtTestTokens.token("testuser"))
+                .header(JwtAuthenticationFilter.USER_NAME_HEADER, "admin"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(1, forwarded.get().getRequest().getHeaders().get(JwtAuthenticationFilter.USER_NAME_HEADER).size());
+        assertEquals("testuser", forwarded.get().getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_NAME_HEADER));
+    }
+
+    @Test
+    public void testInvalidTokenIsRejected() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt")
+                .header(JwtAuthenticationFilter.USER_NAME_HEADER, "admin"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE).contains("invalid_token"));
+    }
+
+    @Test
+    public void testExpiredTokenOnRefreshIsDroppedAndForwarded() {
+        // Given - the client still sends its expired access token while refreshing it
+        String expired = JwtTestTokens.token(JwtTestTokens.SECRET, JwtTestTokens.ISSUER, "testuser",
+                new Date(System.currentTimeMillis() - 60_000));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/users/auth/refresh")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + expired)
+                .header(JwtAuthenticationFilter.USER_NAME_HEADER, "admin"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertNotNull(forwarded.get());
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey(HttpHeaders.AUTHORIZATION));
+        assertFalse(headers.containsKey(JwtAuthenticationFilter.USER_NAME_HEADER));
+        assertNull(forwarded.get().getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,136 @@
+package com.minishop.gateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheGatewayFilterFactoryTest {
+
+    private GatewayFilter filter;
+
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    public void setup() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setMaxBodySize(DataSize.ofBytes(16));
+        filter = new ResponseCacheGatewayFilterFactory().apply(config);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    public void testSecondRequestIsServedFromCache() {
+        // Given
+        GatewayFilterChain upstream = respond(MediaType.APPLICATION_JSON, true, Flux.just("{\"id\":1}"));
+        MockServerWebExchange first = get("/orders/1");
+        filter.filter(first, upstream).block();
+
+        // When
+        MockServerWebExchange second = get("/orders/1");
+        filter.filter(second, upstream).block();
+
+        // Then
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals("{\"id\":1}", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void testNdjsonIsNotCached() {
+        // Given
+        GatewayFilterChain upstream = respond(MediaType.APPLICATION_NDJSON, true, Flux.just("{\"id\":1}\n"));
+
+        // When
+        filter.filter(get("/orders/export"), upstream).block();
+        filter.filter(get("/orders/export"), upstream).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void testResponseWithoutContentLengthIsNotCached() {
+        // Given
+        GatewayFilterChain upstream = respond(MediaType.APPLICATION_JSON, false, Flux.just("{\"id\":1}"));
+
+        // When
+        filter.filter(get("/orders/1"), upstream).block();
+        filter.filter(get("/orders/1"), upstream).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void testWaitingRequestIsReleasedWhileStreamIsOpen() {
+        // Given - the first caller's response is a stream that has not finished
+        GatewayFilterChain endless = respond(MediaType.APPLICATION_NDJSON, false,
+                Flux.concat(Flux.just("{\"id\":1}\n"), Flux.never()));
+        filter.filter(get("/orders/export"), endless).subscribe();
+
+        // When
+        GatewayFilterChain upstream = respond(MediaType.APPLICATION_NDJSON, false, Flux.just("{\"id\":1}\n"));
+        filter.filter(get("/orders/export"), upstream).block(Duration.ofSeconds(5));
+
+        // Then - the second caller went upstream itself instead of waiting for the stream to end
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void testWaitingRequestIsReleasedOnceBodyExceedsLimit() {
+        // Given - a response that declares a small length but keeps sending past maxBodySize
+        GatewayFilterChain oversized = respond(MediaType.APPLICATION_JSON, true,
+                Flux.concat(Flux.just("0123456789", "0123456789"), Flux.never()));
+        filter.filter(get("/orders/1"), oversized).subscribe();
+
+        // When
+        GatewayFilterChain upstream = respond(MediaType.APPLICATION_JSON, true, Flux.just("{\"id\":1}"));
+        filter.filter(get("/orders/1"), upstream).block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    /**
+     * An upstream that answers 200 with the given chunks, declaring the length of the first chunk
+     * as Content-Length when asked to.
+     */
+    private GatewayFilterChain respond(MediaType contentType, boolean contentLength, Flux<String> chunks) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            if (contentLength) {
+                response.getHeaders().setContentLength(chunks.blockFirst().length());
+            }
+            return response.writeWith(chunks.map(ResponseCacheGatewayFilterFactoryTest::buffer));
+        };
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,149 @@
+package com.minishop.gateway.httpclient;
+
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceRoutingFilterTest {
+
+    private HttpClient defaultClient;
+
+    private ServiceRoutingFilter filter;
+
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/payments/1"));
+
+    @BeforeEach
+    public void setup() {
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        ServerProperties serverProperties = new ServerProperties();
+        BackendPoolProperties backendPoolProperties = new BackendPoolProperties();
+        BackendPoolProperties.Pool paymentPool = new BackendPoolProperties.Pool();
+        paymentPool.setMaxConnections(20);
+        backendPoolProperties.getServices().put("payment-service", paymentPool);
+        BackendPoolProperties.Pool productPool = new BackendPoolProperties.Pool();
+        productPool.setProtocol(BackendPoolProperties.Protocol.H2C);
+        backendPoolProperties.getServices().put("product-service", productPool);
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = new DefaultListableBeanFactory()
+                .getBeanProvider(ResolvableType.forClassWithGenerics(List.class, HttpHeadersFilter.class));
+
+        defaultClient = HttpClient.create();
+        filter = new BackendHttpClientConfiguration().serviceRoutingFilter(defaultClient, headersFilters,
+                httpClientProperties, serverProperties,
+                new HttpClientSslConfigurer(httpClientProperties.getSsl(), serverProperties),
+                Collections.emptyList(), backendPoolProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    public void testServiceWithPoolGetsItsOwnClient() {
+        // Given
+        Route route = route("lb://payment-service", Collections.emptyMap());
+
+        // When
+        HttpClient client = filter.getHttpClient(route, exchange);
+
+        // Then
+        assertNotSame(defaultClient, client);
+        assertEquals("payment-service", client.configuration().connectionProvider().name());
+        assertEquals(20, client.configuration().connectionProvider().maxConnections());
+        assertArrayEquals(new HttpProtocol[] {HttpProtocol.HTTP11}, client.configuration().protocols());
+    }
+
+    @Test
+    public void testH2cServiceClientTalksHttp2ToBackend() {
+        // Given - a backend that accepts h2c next to HTTP/1.1 and echoes the protocol of each request
+        DisposableServer backend = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .handle((request, response) -> response.sendString(Mono.just(request.protocol())))
+                .bindNow();
+        try {
+            HttpClient client = filter.getHttpClient(route("lb://product-service", Collections.emptyMap()), exchange);
+            String uri = "http://localhost:" + backend.port() + "/";
+
+            // When - the first request upgrades the pooled connection, the second is an HTTP/2 stream on it
+            String first = client.get().uri(uri).responseContent().aggregate().asString().block(Duration.ofSeconds(5));
+            String second = client.get().uri(uri).responseContent().aggregate().asString().block(Duration.ofSeconds(5));
+
+            // Then - response bodies arrive intact over h2c
+            assertEquals("product-service", client.configuration().connectionProvider().name());
+            assertTrue(Arrays.asList(client.configuration().protocols()).contains(HttpProtocol.H2C));
+            assertNotNull(first);
+            assertEquals("HTTP/2.0", second);
+        } finally {
+            backend.disposeNow();
+        }
+    }
+
+    @Test
+    public void testServiceIdIsMatchedIgnoringCase() {
+        // When
+        HttpClient client = filter.getHttpClient(route("lb://PAYMENT-SERVICE", Collections.emptyMap()), exchange);
+
+        // Then
+        assertEquals("payment-service", client.configuration().connectionProvider().name());
+    }
+
+    @Test
+    public void testOtherRoutesUseDefaultClient() {
+        // When
+        HttpClient lbClient = filter.getHttpClient(route("lb://order-service", Collections.emptyMap()), exchange);
+        HttpClient httpClient = filter.getHttpClient(route("http://payment-service:8080", Collections.emptyMap()), exchange);
+
+        // Then
+        assertSame(defaultClient, lbClient);
+        assertSame(defaultClient, httpClient);
+    }
+
+    @Test
+    public void testRouteConnectTimeoutAppliesToServiceClient() {
+        // Given
+        Route route = route("lb://payment-service", Map.of(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR, 1000));
+
+        // When
+        HttpClient client = filter.getHttpClient(route, exchange);
+
+        // Then
+        assertEquals("payment-service", client.configuration().connectionProvider().name());
+        assertEquals(1000, client.configuration().options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+    }
+
+    private static Route route(String uri, Map<String, Object> metadata) {
+        return Route.async()
+                .id("test-route")
+                .uri(uri)
+                .predicate(exchange -> true)
+                .metadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.minishop.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalTokenBucketRateLimiterTest {
+
+    private static final String ROUTE = "test-route";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LocalTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConfigurationService configurationService = new ConfigurationService(new DefaultListableBeanFactory(),
+                DefaultConversionService::new, LocalValidatorFactoryBean::new);
+        rateLimiter = new LocalTokenBucketRateLimiter(configurationService, meterRegistry, 10, 20, 1000);
+        rateLimiter.getConfig().put(ROUTE, new LocalTokenBucketRateLimiter.Config()
+                .setReplenishRate(1)
+                .setBurstCapacity(2));
+    }
+
+    @Test
+    public void testRejectsOnceBucketIsEmpty() {
+        // When
+        Response first = rateLimiter.isAllowed(ROUTE, "user:alice").block();
+        Response second = rateLimiter.isAllowed(ROUTE, "user:alice").block();
+        Response third = rateLimiter.isAllowed(ROUTE, "user:alice").block();
+
+        // Then
+        assertTrue(first.isAllowed());
+        assertEquals("1", first.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+        assertTrue(second.isAllowed());
+        assertFalse(third.isAllowed());
+        assertEquals("0", third.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected").tag("route", ROUTE).counter().count());
+    }
+
+    @Test
+    public void testBucketsAreSeparatePerKey() {
+        // Given
+        rateLimiter.isAllowed(ROUTE, "user:alice").block();
+        rateLimiter.isAllowed(ROUTE, "user:alice").block();
+
+        // When/Then
+        assertFalse(rateLimiter.isAllowed(ROUTE, "user:alice").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed(ROUTE, "user:bob").block().isAllowed());
+    }
+
+    @Test
+    public void testBucketRefills() {
+        // Given
+        LocalTokenBucketRateLimiter.TokenBucket bucket = new LocalTokenBucketRateLimiter.TokenBucket(
+                rateLimiter.getConfig().get(ROUTE));
+        long now = System.nanoTime();
+        bucket.tryConsume(2, now);
+
+        // When/Then - one token per second
+        assertEquals(-1, bucket.tryConsume(1, now));
+        assertEquals(0, bucket.tryConsume(1, now + 1_000_000_000L));
+    }
+
+    @Test
+    public void testRequestRateLimiterAnswers429() {
+        // Given
+        RequestRateLimiterGatewayFilterFactory.Config config = new RequestRateLimiterGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE);
+        GatewayFilter filter = new RequestRateLimiterGatewayFilterFactory(rateLimiter, exchange -> Mono.just("ip:127.0.0.1"))
+                .apply(config);
+        AtomicInteger forwarded = new AtomicInteger();
+
+        // When
+        MockServerWebExchange last = null;
+        for (int i = 0; i < 3; i++) {
+            last = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/me"));
+            filter.filter(last, exchange -> {
+                forwarded.incrementAndGet();
+                return Mono.empty();
+            }).block();
+        }
+
+        // Then
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, last.getResponse().getStatusCode());
+        assertEquals("0", last.getResponse().getHeaders().getFirst(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+    }
+}
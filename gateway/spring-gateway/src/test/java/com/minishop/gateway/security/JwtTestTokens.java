@@ -0,0 +1,49 @@
+package com.minishop.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Signs tokens the way user-service does and builds a {@link JwtVerifier} that accepts them.
+ */
+public final class JwtTestTokens {
+
+    public static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    public static final String ISSUER = "minishop";
+
+    private JwtTestTokens() {
+    }
+
+    public static JwtVerifier verifier() {
+        JwtVerifier verifier = new JwtVerifier();
+        ReflectionTestUtils.setField(verifier, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(verifier, "issuer", ISSUER);
+        ReflectionTestUtils.setField(verifier, "verifiedCacheSize", 100L);
+        verifier.init();
+        return verifier;
+    }
+
+    public static String token(String username) {
+        return token(SECRET, ISSUER, username, new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    public static String token(String secret, String issuer, String username, Date expiration) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.builder()
+                .setSubject(username)
+                .setIssuer(issuer)
+                .claim(JwtVerifier.CLAIM_USER_ID, 42L)
+                .claim(JwtVerifier.CLAIM_ROLES, List.of("ROLE_USER", "ROLE_ADMIN"))
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,82 @@
+package com.minishop.gateway.security;
+
+import com.minishop.gateway.security.JwtVerifier.Identity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtVerifierTest {
+
+    private static final String OTHER_SECRET = "7A24432646294A404E635266556A586E3272357538782F413F4428472B4B6250";
+
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    public void setup() {
+        verifier = JwtTestTokens.verifier();
+    }
+
+    @Test
+    public void testVerify() {
+        // When
+        Optional<Identity> identity = verifier.verify(JwtTestTokens.token("testuser"));
+
+        // Then
+        assertTrue(identity.isPresent());
+        assertEquals("42", identity.get().userId());
+        assertEquals("testuser", identity.get().username());
+        assertEquals("ROLE_USER,ROLE_ADMIN", identity.get().roles());
+    }
+
+    @Test
+    public void testVerify_Malformed() {
+        assertTrue(verifier.verify("not-a-jwt").isEmpty());
+    }
+
+    @Test
+    public void testVerify_WrongSignature() {
+        // Given
+        String token = JwtTestTokens.token(OTHER_SECRET, JwtTestTokens.ISSUER, "testuser",
+                new Date(System.currentTimeMillis() + 60_000));
+
+        // When/Then
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    public void testVerify_Expired() {
+        // Given
+        String token = JwtTestTokens.token(JwtTestTokens.SECRET, JwtTestTokens.ISSUER, "testuser",
+                new Date(System.currentTimeMillis() - 60_000));
+
+        // When/Then
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    public void testVerify_WrongIssuer() {
+        // Given
+        String token = JwtTestTokens.token(JwtTestTokens.SECRET, "someone-else", "testuser",
+                new Date(System.currentTimeMillis() + 60_000));
+
+        // When/Then
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    public void testVerify_CachedIdentity() {
+        // Given
+        String token = JwtTestTokens.token("testuser");
+
+        // When
+        Identity first = verifier.verify(token).orElseThrow();
+        Identity second = verifier.verify(token).orElseThrow();
+
+        // Then
+        assertSame(first, second);
+    }
+}
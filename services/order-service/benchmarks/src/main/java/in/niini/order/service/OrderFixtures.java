@@ -0,0 +1,33 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderItemRequest;
+import in.niini.order.dto.OrderRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static OrderRequest orderRequest(long userId, int itemCount) {
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId((long) i + 1);
+            item.setQuantity(i % 3 + 1);
+            item.setPrice(new BigDecimal("19.99"));
+            total = total.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setUserId(userId);
+        request.setTotalAmount(total);
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package in.niini.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.niini.order.dto.OrderRequest;
+import in.niini.order.dto.OrderResponse;
+import in.niini.order.model.Order;
+import in.niini.order.model.OrderItem;
+import in.niini.order.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-only benchmarks for the order path: request-to-entity mapping, entity-to-response mapping
+ * and Jackson serialization of response lists, configured the way Spring Boot configures Jackson.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemsPerOrder;
+
+    @Param({"50"})
+    private int ordersPerPage;
+
+    private OrderService orderService;
+    private OrderRequest orderRequest;
+    private Order order;
+    private List<Order> page;
+    private List<OrderResponse> responses;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        orderService = new OrderService();
+        orderRequest = OrderFixtures.orderRequest(1L, itemsPerOrder);
+        order = persistedOrder(1L);
+
+        page = new ArrayList<>(ordersPerPage);
+        for (long id = 1; id <= ordersPerPage; id++) {
+            page.add(persistedOrder(id));
+        }
+        responses = new ArrayList<>(ordersPerPage);
+        for (Order pageOrder : page) {
+            responses.add(orderService.convertToResponse(pageOrder));
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderResponse.class));
+    }
+
+    @Benchmark
+    public Order toOrder() {
+        return orderService.toOrder(orderRequest);
+    }
+
+    @Benchmark
+    public OrderResponse convertToResponse() {
+        return orderService.convertToResponse(order);
+    }
+
+    @Benchmark
+    public List<OrderResponse> convertPage() {
+        List<OrderResponse> converted = new ArrayList<>(page.size());
+        for (Order pageOrder : page) {
+            converted.add(orderService.convertToResponse(pageOrder));
+        }
+        return converted;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(responses);
+    }
+
+    private Order persistedOrder(long id) {
+        Order persisted = orderService.toOrder(orderRequest);
+        persisted.setId(id);
+        persisted.setStatus(OrderStatus.PENDING);
+        persisted.setCreatedAt(LocalDateTime.now());
+        persisted.setUpdatedAt(LocalDateTime.now());
+        long itemId = id * 1000;
+        for (OrderItem item : persisted.getItems()) {
+            item.setId(itemId++);
+        }
+        return persisted;
+    }
+}
@@ -0,0 +1,73 @@
+package in.niini.order.service;
+
+import in.niini.order.OrderServiceApplication;
+import in.niini.order.dto.OrderRequest;
+import in.niini.order.dto.OrderResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistence benchmarks against an embedded H2 database, running the real Spring context with
+ * Eureka, Flyway and the outbox publisher switched off. Numbers are for regression tracking only;
+ * they do not predict Postgres latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPersistenceBenchmark {
+
+    private static final int SEEDED_ORDERS = 2_000;
+
+    @Param({"10", "50"})
+    private int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequest orderRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Passed as command-line arguments so they override application.properties
+        context = new SpringApplicationBuilder(OrderServiceApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:orderbench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--eureka.client.enabled=false",
+                "--app.outbox.publisher.enabled=false",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        orderRequest = OrderFixtures.orderRequest(1L, itemsPerOrder);
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            orderService.createOrder(OrderFixtures.orderRequest(i % 100, itemsPerOrder));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(orderRequest);
+    }
+
+    @Benchmark
+    public List<OrderResponse> firstPage() {
+        return orderService.getOrdersAfter(null, OrderService.DEFAULT_PAGE_SIZE);
+    }
+}
@@ -7,7 +7,7 @@ call mvn clean package -DskipTests
 
 REM Run the service
 echo Starting Order Service...
-java -jar target\order-service-1.0.0.jar
+java -jar target\order-service-1.0.0-exec.jar
 
 echo Order Service is running on http://localhost:8083
 pause
\ No newline at end of file
@@ -15,6 +15,6 @@ mvn clean package -DskipTests
 
 # Run the service
 echo "Starting Order Service..."
-java -jar target/order-service-1.0.0.jar
+java -jar target/order-service-1.0.0-exec.jar
 
 echo "Order Service is running on http://localhost:8083"
\ No newline at end of file
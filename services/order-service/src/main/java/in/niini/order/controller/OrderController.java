@@ -1,14 +1,29 @@
 package in.niini.order.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.niini.order.dto.BulkOrderResult;
+import in.niini.order.dto.BulkStatusUpdateRequest;
+import in.niini.order.dto.BulkStatusUpdateResponse;
+import in.niini.order.dto.OrderAggregate;
+import in.niini.order.dto.OrderPageResponse;
 import in.niini.order.dto.OrderRequest;
 import in.niini.order.dto.OrderResponse;
-import in.niini.order.model.Order;
+import in.niini.order.service.OrderAggregateService;
 import in.niini.order.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,9 +33,49 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<OrderPageResponse> getOrders(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(orderService.getOrderPage(after, limit));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class);
+        StreamingResponseBody body = out -> {
+            Long after = null;
+            List<OrderResponse> page;
+            do {
+                page = orderService.getOrdersAfter(after, OrderService.MAX_PAGE_SIZE);
+                for (OrderResponse order : page) {
+                    out.write(writer.writeValueAsBytes(order));
+                    out.write('\n');
+                }
+                out.flush();
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == OrderService.MAX_PAGE_SIZE);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<OrderAggregate>> getOrderAggregates(
+            @RequestParam(defaultValue = "STATUS") OrderAggregateService.GroupBy groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(orderAggregateService.aggregate(groupBy, from, to, limit));
     }
 
     @GetMapping("/{id}")
@@ -39,11 +94,26 @@ public class OrderController {
                 .body(orderService.createOrder(orderRequest));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkOrderResult>> createOrdersInBulk(HttpServletRequest request) throws IOException {
+        // Read the JSON array element by element instead of binding the whole payload
+        try (MappingIterator<OrderRequest> orderRequests = objectMapper.readerFor(OrderRequest.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(orderService.createOrdersInBulk(orderRequests));
+        }
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id,
-            @RequestParam String status) {
-        return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
+            @RequestParam String status,
+            @RequestParam(required = false) String expectedStatus) {
+        return ResponseEntity.ok(orderService.updateOrderStatus(id, status, expectedStatus));
+    }
+
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request));
     }
 
     @DeleteMapping("/{id}")
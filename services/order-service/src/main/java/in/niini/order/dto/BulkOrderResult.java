@@ -0,0 +1,57 @@
+package in.niini.order.dto;
+
+public class BulkOrderResult {
+    private int index;
+    private Long orderId;
+    private String status;
+    private String error;
+
+    public static BulkOrderResult created(int index, Long orderId) {
+        BulkOrderResult result = new BulkOrderResult();
+        result.setIndex(index);
+        result.setOrderId(orderId);
+        result.setStatus("CREATED");
+        return result;
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        BulkOrderResult result = new BulkOrderResult();
+        result.setIndex(index);
+        result.setStatus("FAILED");
+        result.setError(error);
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
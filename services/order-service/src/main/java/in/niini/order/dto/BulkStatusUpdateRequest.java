@@ -0,0 +1,43 @@
+package in.niini.order.dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    public static final int MAX_IDS = 10000;
+
+    @NotEmpty
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+    @NotBlank
+    private String status;
+    private String expectedStatus;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(String expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+}
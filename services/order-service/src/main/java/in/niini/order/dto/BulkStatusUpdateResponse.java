@@ -0,0 +1,59 @@
+package in.niini.order.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStatusUpdateResponse {
+    private List<Long> updated = new ArrayList<>();
+    private List<Rejected> rejected = new ArrayList<>();
+
+    public void addRejected(Long id, String reason) {
+        rejected.add(new Rejected(id, reason));
+    }
+
+    // Getters and Setters
+    public List<Long> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<Long> updated) {
+        this.updated = updated;
+    }
+
+    public List<Rejected> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<Rejected> rejected) {
+        this.rejected = rejected;
+    }
+
+    public static class Rejected {
+        private Long id;
+        private String reason;
+
+        public Rejected() {
+        }
+
+        public Rejected(Long id, String reason) {
+            this.id = id;
+            this.reason = reason;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package in.niini.order.dto;
+
+import java.math.BigDecimal;
+
+public class OrderAggregate {
+    private String key;
+    private Long orderCount;
+    private BigDecimal revenue;
+
+    public OrderAggregate() {
+    }
+
+    public OrderAggregate(String key, Long orderCount, BigDecimal revenue) {
+        this.key = key;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,33 @@
+package in.niini.order.dto;
+
+import java.util.List;
+
+public class OrderPageResponse {
+    private List<OrderResponse> orders;
+    private Long nextAfter;
+
+    public OrderPageResponse() {
+    }
+
+    public OrderPageResponse(List<OrderResponse> orders, Long nextAfter) {
+        this.orders = orders;
+        this.nextAfter = nextAfter;
+    }
+
+    // Getters and Setters
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderResponse> orders) {
+        this.orders = orders;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(Long nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+}
@@ -0,0 +1,64 @@
+package in.niini.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.niini.order.model.Order;
+import in.niini.order.model.OutboxEvent;
+import in.niini.order.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records order lifecycle events in the outbox table. Must run inside the transaction that
+ * changes the order, so the event is committed if and only if the change is.
+ */
+@Component
+public class OrderEventOutbox {
+
+    public static final String TOPIC_PREFIX = "order.";
+    public static final String CREATED = "created";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Order order, String eventType) {
+        outboxEventRepository.save(toOutboxEvent(order, eventType));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Order> orders, String eventType) {
+        outboxEventRepository.saveAll(orders.stream()
+                .map(order -> toOutboxEvent(order, eventType))
+                .collect(Collectors.toList()));
+    }
+
+    private OutboxEvent toOutboxEvent(Order order, String eventType) {
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(order.getId());
+        event.setOrderNumber(String.valueOf(order.getId()));
+        event.setUserId(order.getUserId());
+        event.setTotalAmount(order.getTotalAmount());
+        event.setStatus(order.getStatus().name());
+        event.setOccurredAt(LocalDateTime.now());
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(order.getId());
+        outboxEvent.setTopic(TOPIC_PREFIX + eventType);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order event", e);
+        }
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,87 @@
+package in.niini.order.event;
+
+import in.niini.order.model.OutboxEvent;
+import in.niini.order.repository.OutboxEventRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to Kafka in the background. A batch is deleted only after every record in it
+ * has been acknowledged, so delivery is at-least-once; consumers can dedupe on the eventId header.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.publisher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${app.outbox.publisher.batch-size:500}")
+    private int batchSize;
+
+    // Keep below the poll interval: the batch holds its row locks and a pooled connection while sending
+    @Value("${app.outbox.publisher.send-timeout-ms:400}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${app.outbox.publisher.poll-interval-ms:500}")
+    @Transactional
+    public void publishPending() {
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // The batch's row locks and connection are held until every record is acknowledged, so the whole
+        // send, not each record, is bounded by one deadline; flush() is not called as it waits without one
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        try {
+            List<ListenableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new TimeoutException("Send timeout of " + sendTimeoutMs + " ms elapsed");
+                }
+                ProducerRecord<String, String> record = new ProducerRecord<>(
+                        event.getTopic(), String.valueOf(event.getAggregateId()), event.getPayload());
+                record.headers().add("eventId", String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8));
+                sends.add(kafkaTemplate.send(record));
+            }
+            for (ListenableFuture<SendResult<String, String>> send : sends) {
+                send.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            // Rolling back keeps the whole batch in the outbox for the next poll
+            logger.error("Failed to publish outbox events: {}", e.getMessage());
+            throw new IllegalStateException("Outbox publish failed", e);
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(events.stream()
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toList()));
+    }
+}
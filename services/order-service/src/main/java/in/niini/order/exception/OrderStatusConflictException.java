@@ -0,0 +1,11 @@
+package in.niini.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,88 @@
+package in.niini.order.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "order_daily_rollup")
+public class OrderDailyRollup {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    // Getters and Setters
+    public Key getId() {
+        return id;
+    }
+
+    public void setId(Key id) {
+        this.id = id;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Column(nullable = false)
+        private LocalDate orderDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private OrderStatus status;
+
+        public LocalDate getOrderDate() {
+            return orderDate;
+        }
+
+        public void setOrderDate(LocalDate orderDate) {
+            this.orderDate = orderDate;
+        }
+
+        public OrderStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(OrderStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            Key key = (Key) o;
+            return Objects.equals(orderDate, key.orderDate) && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orderDate, status);
+        }
+    }
+}
@@ -1,9 +1,36 @@
 package in.niini.order.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED;
+
+    // PENDING -> CONFIRMED -> SHIPPED -> DELIVERED; CANCELLED is reachable until the order ships
+    public boolean canTransitionTo(OrderStatus next) {
+        switch (this) {
+            case PENDING:
+                return next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED:
+                return next == SHIPPED || next == CANCELLED;
+            case SHIPPED:
+                return next == DELIVERED;
+            default:
+                return false;
+        }
+    }
+
+    public static Set<OrderStatus> predecessorsOf(OrderStatus next) {
+        Set<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(next)) {
+                predecessors.add(status);
+            }
+        }
+        return predecessors;
+    }
+}
@@ -0,0 +1,82 @@
+package in.niini.order.repository;
+
+import in.niini.order.model.OrderDailyRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderAggregateRepository extends JpaRepository<OrderDailyRollup, OrderDailyRollup.Key> {
+
+    // Live aggregates over orders
+
+    @Query("SELECT o.status AS groupKey, COUNT(o.id) AS orderCount, SUM(o.totalAmount) AS revenue FROM Order o "
+            + "WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.status ORDER BY o.status")
+    List<Totals> aggregateByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT o.userId AS groupKey, COUNT(o.id) AS orderCount, SUM(o.totalAmount) AS revenue FROM Order o "
+            + "WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.userId ORDER BY SUM(o.totalAmount) DESC")
+    List<Totals> aggregateByUser(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                              Pageable pageable);
+
+    @Query("SELECT CAST(o.createdAt AS date) AS groupKey, COUNT(o.id) AS orderCount, SUM(o.totalAmount) AS revenue "
+            + "FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to "
+            + "GROUP BY CAST(o.createdAt AS date) ORDER BY CAST(o.createdAt AS date)")
+    List<Totals> aggregateByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Reads from the daily rollup table
+
+    @Query("SELECT r.id.status AS groupKey, SUM(r.orderCount) AS orderCount, SUM(r.revenue) AS revenue "
+            + "FROM OrderDailyRollup r WHERE r.id.orderDate >= :from AND r.id.orderDate < :to "
+            + "GROUP BY r.id.status ORDER BY r.id.status")
+    List<Totals> rollupByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r.id.orderDate AS groupKey, SUM(r.orderCount) AS orderCount, SUM(r.revenue) AS revenue "
+            + "FROM OrderDailyRollup r WHERE r.id.orderDate >= :from AND r.id.orderDate < :to "
+            + "GROUP BY r.id.orderDate ORDER BY r.id.orderDate")
+    List<Totals> rollupByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Rollup maintenance
+
+    @Query(value = "SELECT DISTINCT CAST(created_at AS DATE) FROM orders WHERE updated_at >= :since", nativeQuery = true)
+    List<Date> findDaysTouchedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_daily_rollup WHERE order_date IN (:days)", nativeQuery = true)
+    int deleteRollupDays(@Param("days") Collection<LocalDate> days);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_rollup (order_date, status, order_count, revenue) "
+            + "SELECT CAST(created_at AS DATE), status, COUNT(*), SUM(total_amount) FROM orders "
+            + "WHERE created_at >= :from AND created_at < :to "
+            + "GROUP BY CAST(created_at AS DATE), status", nativeQuery = true)
+    int insertRollupRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_daily_rollup", nativeQuery = true)
+    int deleteAllRollups();
+
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_rollup (order_date, status, order_count, revenue) "
+            + "SELECT CAST(created_at AS DATE), status, COUNT(*), SUM(total_amount) FROM orders "
+            + "GROUP BY CAST(created_at AS DATE), status", nativeQuery = true)
+    int insertAllRollups();
+
+    interface Totals {
+        Object getGroupKey();
+
+        Long getOrderCount();
+
+        BigDecimal getRevenue();
+    }
+}
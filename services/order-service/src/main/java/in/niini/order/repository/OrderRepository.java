@@ -1,12 +1,52 @@
 package in.niini.order.repository;
 
 import in.niini.order.model.Order;
+import in.niini.order.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findDistinctByUserIdOrderByIdAsc(Long userId);
+
+    // Keyset page: seeks past the last seen id on the primary key index instead of using OFFSET.
+    // Items are not fetch-joined here (that would paginate in memory); they are batch-loaded per page.
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Compare-and-set on status: one statement, no row lock held between read and write
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.updatedAt = :updatedAt WHERE o.id = :id AND o.status IN :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") Collection<OrderStatus> expected,
+                         @Param("next") OrderStatus next,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.updatedAt = :updatedAt WHERE o.id IN :ids AND o.status IN :expected")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("expected") Collection<OrderStatus> expected,
+                           @Param("next") OrderStatus next,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    List<StatusView> findByIdIn(Collection<Long> ids);
+
+    interface StatusView {
+        Long getId();
+
+        OrderStatus getStatus();
+    }
+}
@@ -0,0 +1,22 @@
+package in.niini.order.repository;
+
+import in.niini.order.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED (PostgreSQL95Dialect or later): concurrent publishers each claim a disjoint
+    // batch instead of blocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -0,0 +1,70 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderAggregate;
+import in.niini.order.repository.OrderAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Order counts and revenue grouped by status, user or day, computed in the database. When the daily
+ * rollup is enabled, status and day groupings are read from {@code order_daily_rollup} instead of
+ * scanning orders; those results lag by at most one refresh interval.
+ */
+@Service
+public class OrderAggregateService {
+
+    public static final int DEFAULT_WINDOW_DAYS = 30;
+    public static final int MAX_USER_GROUPS = 1000;
+
+    public enum GroupBy {
+        STATUS,
+        USER,
+        DAY
+    }
+
+    @Autowired
+    private OrderAggregateRepository orderAggregateRepository;
+
+    @Value("${app.orders.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    /**
+     * @param from first day included; defaults to {@link #DEFAULT_WINDOW_DAYS} days before {@code to}
+     * @param to   first day excluded; defaults to tomorrow
+     */
+    @Transactional(readOnly = true)
+    public List<OrderAggregate> aggregate(GroupBy groupBy, LocalDate from, LocalDate to, int limit) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+
+        return totals(groupBy, start, end, limit).stream()
+                .map(totals -> new OrderAggregate(
+                        String.valueOf(totals.getGroupKey()), totals.getOrderCount(), totals.getRevenue()))
+                .collect(Collectors.toList());
+    }
+
+    private List<OrderAggregateRepository.Totals> totals(GroupBy groupBy, LocalDate start, LocalDate end, int limit) {
+        switch (groupBy) {
+            case USER:
+                int groups = Math.max(1, Math.min(limit, MAX_USER_GROUPS));
+                return orderAggregateRepository.aggregateByUser(
+                        start.atStartOfDay(), end.atStartOfDay(), PageRequest.of(0, groups));
+            case DAY:
+                return rollupEnabled
+                        ? orderAggregateRepository.rollupByDay(start, end)
+                        : orderAggregateRepository.aggregateByDay(start.atStartOfDay(), end.atStartOfDay());
+            case STATUS:
+            default:
+                return rollupEnabled
+                        ? orderAggregateRepository.rollupByStatus(start, end)
+                        : orderAggregateRepository.aggregateByStatus(start.atStartOfDay(), end.atStartOfDay());
+        }
+    }
+}
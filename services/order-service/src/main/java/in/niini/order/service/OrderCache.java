@@ -0,0 +1,52 @@
+package in.niini.order.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache names and precise invalidation for {@link OrderService}. Evictions are deferred until the
+ * surrounding transaction commits, so a read inside the transaction window cannot re-cache the
+ * pre-commit state. A read that loaded the old state before the commit can still put it back after
+ * the eviction; such an entry stays stale until it expires (60s, see spring.cache.caffeine.spec).
+ */
+@Component
+public class OrderCache {
+
+    public static final String ORDERS = "orders";
+    public static final String USER_ORDERS = "userOrders";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public void evictOrder(Long orderId) {
+        afterCommit(() -> evict(ORDERS, orderId));
+    }
+
+    public void evictUserOrders(Long userId) {
+        afterCommit(() -> evict(USER_ORDERS, userId));
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package in.niini.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import in.niini.order.dto.OrderItemResponse;
+import in.niini.order.dto.OrderResponse;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Caffeine caches for {@link OrderCache} that copy {@link OrderResponse} values on the way in and out,
+ * so callers never share, or mutate, the instance held by the cache.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class OrderCacheConfiguration {
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new CopyingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+
+    static Object copy(Object value) {
+        if (value instanceof OrderResponse) {
+            return copy((OrderResponse) value);
+        }
+        if (value instanceof List) {
+            return ((List<?>) value).stream()
+                    .map(OrderCacheConfiguration::copy)
+                    .collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    private static OrderResponse copy(OrderResponse order) {
+        OrderResponse copy = new OrderResponse();
+        copy.setId(order.getId());
+        copy.setUserId(order.getUserId());
+        copy.setTotalAmount(order.getTotalAmount());
+        copy.setStatus(order.getStatus());
+        copy.setCreatedAt(order.getCreatedAt());
+        copy.setUpdatedAt(order.getUpdatedAt());
+        if (order.getItems() != null) {
+            copy.setItems(order.getItems().stream()
+                    .map(OrderCacheConfiguration::copy)
+                    .collect(Collectors.toList()));
+        }
+        return copy;
+    }
+
+    private static OrderItemResponse copy(OrderItemResponse item) {
+        OrderItemResponse copy = new OrderItemResponse();
+        copy.setId(item.getId());
+        copy.setProductId(item.getProductId());
+        copy.setQuantity(item.getQuantity());
+        copy.setPrice(item.getPrice());
+        return copy;
+    }
+
+    /**
+     * Still a {@link CaffeineCache}, so the actuator keeps binding its hit, miss and eviction metrics.
+     */
+    static class CopyingCaffeineCache extends CaffeineCache {
+
+        CopyingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+    }
+}
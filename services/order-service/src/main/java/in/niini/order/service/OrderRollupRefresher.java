@@ -0,0 +1,62 @@
+package in.niini.order.service;
+
+import in.niini.order.repository.OrderAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code order_daily_rollup} up to date. The first run rebuilds the whole table; later runs
+ * only recompute the days of orders created or updated since the previous run. Deleted orders are
+ * not tracked and drop out of the rollup at the next full rebuild (application restart). When several
+ * instances refresh the same day concurrently, the loser fails on the primary key, rolls back and
+ * retries on its next run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.rollup.enabled", havingValue = "true")
+public class OrderRollupRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(OrderRollupRefresher.class);
+
+    // Re-scan a margin before the last run so transactions that committed late are not missed
+    private static final long WATERMARK_OVERLAP_SECONDS = 60;
+
+    private volatile LocalDateTime watermark;
+
+    @Autowired
+    private OrderAggregateRepository orderAggregateRepository;
+
+    @Scheduled(initialDelayString = "${app.orders.rollup.initial-delay-ms:0}",
+            fixedDelayString = "${app.orders.rollup.refresh-interval-ms:60000}")
+    @Transactional
+    public synchronized void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        if (watermark == null) {
+            orderAggregateRepository.deleteAllRollups();
+            int rows = orderAggregateRepository.insertAllRollups();
+            logger.info("Rebuilt order rollup: {} rows", rows);
+        } else {
+            List<LocalDate> days = orderAggregateRepository.findDaysTouchedSince(watermark).stream()
+                    .map(Date::toLocalDate)
+                    .collect(Collectors.toList());
+            if (!days.isEmpty()) {
+                orderAggregateRepository.deleteRollupDays(days);
+                for (LocalDate day : days) {
+                    orderAggregateRepository.insertRollupRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+                }
+            }
+        }
+
+        watermark = startedAt.minusSeconds(WATERMARK_OVERLAP_SECONDS);
+    }
+}
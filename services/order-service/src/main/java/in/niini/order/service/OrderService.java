@@ -1,42 +1,209 @@
 package in.niini.order.service;
 
+import in.niini.order.dto.BulkOrderResult;
+import in.niini.order.dto.BulkStatusUpdateRequest;
+import in.niini.order.dto.BulkStatusUpdateResponse;
+import in.niini.order.dto.OrderItemRequest;
+import in.niini.order.dto.OrderItemResponse;
+import in.niini.order.dto.OrderPageResponse;
 import in.niini.order.dto.OrderRequest;
 import in.niini.order.dto.OrderResponse;
+import in.niini.order.event.OrderEventOutbox;
+import in.niini.order.exception.OrderStatusConflictException;
 import in.niini.order.model.Order;
 import in.niini.order.model.OrderItem;
 import in.niini.order.model.OrderStatus;
 import in.niini.order.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int BULK_CHUNK_SIZE = 500;
+
     @Autowired
     private OrderRepository orderRepository;
 
-    public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
+    @Autowired
+    private OrderEventOutbox orderEventOutbox;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrderPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<OrderResponse> orders = getOrdersAfter(after, pageSize);
+        Long nextAfter = orders.size() == pageSize ? orders.get(orders.size() - 1).getId() : null;
+        return new OrderPageResponse(orders, nextAfter);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersAfter(Long after, int limit) {
+        return orderRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.of(0, limit))
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = OrderCache.ORDERS, key = "#id")
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithItemsById(id)
                 .map(this::convertToResponse)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
+    @Cacheable(cacheNames = OrderCache.USER_ORDERS, key = "#userId")
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
+        return orderRepository.findDistinctByUserIdOrderByIdAsc(userId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public OrderResponse createOrder(OrderRequest orderRequest) {
+        Order savedOrder = orderRepository.save(toOrder(orderRequest));
+        orderEventOutbox.record(savedOrder, OrderEventOutbox.CREATED);
+        orderCache.evictUserOrders(savedOrder.getUserId());
+        return convertToResponse(savedOrder);
+    }
+
+    /**
+     * Persists a stream of orders in chunks of {@link #BULK_CHUNK_SIZE}, one transaction per chunk,
+     * so only the current chunk is held in memory. Invalid requests are reported and skipped;
+     * a chunk that fails to persist is reported as failed as a whole. An element that cannot be
+     * read (bad type, malformed or truncated JSON) stops reading: it is reported as failed and the
+     * orders read before it are still saved.
+     */
+    public List<BulkOrderResult> createOrdersInBulk(Iterator<OrderRequest> orderRequests) {
+        List<BulkOrderResult> results = new ArrayList<>();
+        List<Order> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+        int index = 0;
+
+        while (true) {
+            OrderRequest orderRequest;
+            try {
+                if (!orderRequests.hasNext()) {
+                    break;
+                }
+                orderRequest = orderRequests.next();
+            } catch (RuntimeException e) {
+                // MappingIterator wraps mapping errors, malformed or truncated JSON and read failures in
+                // unchecked exceptions. Earlier chunks are already committed, so report them instead of
+                // failing the whole request
+                results.add(BulkOrderResult.failed(index,
+                        "Unreadable order, the remaining orders were not processed: " + e.getMessage()));
+                break;
+            }
+
+            String error = validate(orderRequest);
+            if (error != null) {
+                results.add(BulkOrderResult.failed(index++, error));
+                continue;
+            }
+
+            chunk.add(toOrder(orderRequest));
+            chunkIndexes.add(index++);
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                results.addAll(saveChunk(chunk, chunkIndexes));
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(saveChunk(chunk, chunkIndexes));
+        }
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private List<BulkOrderResult> saveChunk(List<Order> chunk, List<Integer> chunkIndexes) {
+        List<BulkOrderResult> results = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(chunk);
+                orderEventOutbox.recordAll(chunk, OrderEventOutbox.CREATED);
+                chunk.stream()
+                        .map(Order::getUserId)
+                        .distinct()
+                        .forEach(orderCache::evictUserOrders);
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkOrderResult.created(chunkIndexes.get(i), chunk.get(i).getId()));
+            }
+        } catch (DataAccessException e) {
+            for (Integer chunkIndex : chunkIndexes) {
+                results.add(BulkOrderResult.failed(chunkIndex, "Chunk rejected: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private String validate(OrderRequest orderRequest) {
+        if (orderRequest.getUserId() == null) {
+            return "userId is required";
+        }
+        if (orderRequest.getTotalAmount() == null) {
+            return "totalAmount is required";
+        }
+        if (orderRequest.getItems() == null || orderRequest.getItems().isEmpty()) {
+            return "at least one item is required";
+        }
+        for (int i = 0; i < orderRequest.getItems().size(); i++) {
+            String error = validate(orderRequest.getItems().get(i));
+            if (error != null) {
+                return "items[" + i + "]." + error;
+            }
+        }
+        return null;
+    }
+
+    private String validate(OrderItemRequest item) {
+        if (item == null) {
+            return "item is required";
+        }
+        if (item.getProductId() == null) {
+            return "productId is required";
+        }
+        if (item.getQuantity() == null || item.getQuantity() <= 0) {
+            return "quantity must be positive";
+        }
+        if (item.getPrice() == null) {
+            return "price is required";
+        }
+        if (item.getPrice().signum() < 0) {
+            return "price must not be negative";
+        }
+        return null;
+    }
+
+    Order toOrder(OrderRequest orderRequest) {
         Order order = new Order();
         order.setUserId(orderRequest.getUserId());
         order.setTotalAmount(orderRequest.getTotalAmount());
@@ -54,23 +221,136 @@ public class OrderService {
                 .collect(Collectors.toList());
 
         order.setItems(items);
-        Order savedOrder = orderRepository.save(order);
-        return convertToResponse(savedOrder);
+        return order;
     }
 
+    @Transactional
     public OrderResponse updateOrderStatus(Long id, String status) {
-        Order order = orderRepository.findById(id)
+        return updateOrderStatus(id, status, null);
+    }
+
+    /**
+     * Applies a status transition with a single conditional UPDATE. When {@code expectedStatus} is
+     * given the update only succeeds from that status; otherwise from any status allowed to move to
+     * the target. Throws {@link OrderStatusConflictException} if the transition is not allowed or
+     * another request changed the order first.
+     */
+    @Transactional
+    public OrderResponse updateOrderStatus(Long id, String status, String expectedStatus) {
+        OrderStatus next = OrderStatus.valueOf(status);
+        Set<OrderStatus> expected = expectedStatuses(next, expectedStatus);
+
+        if (orderRepository.transitionStatus(id, expected, next, LocalDateTime.now()) == 0) {
+            Order current = orderRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            throw new OrderStatusConflictException(
+                    "Order " + id + " is " + current.getStatus() + " and cannot move to " + next);
+        }
+
+        Order updatedOrder = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
-        order.setStatus(OrderStatus.valueOf(status));
-        Order updatedOrder = orderRepository.save(order);
+        orderEventOutbox.record(updatedOrder, updatedOrder.getStatus().name().toLowerCase());
+        orderCache.evictOrder(id);
+        orderCache.evictUserOrders(updatedOrder.getUserId());
         return convertToResponse(updatedOrder);
     }
 
+    /**
+     * Applies one status transition to many orders with set-based SQL: one read of the current
+     * statuses and one conditional UPDATE per chunk of {@link #BULK_CHUNK_SIZE} ids. Orders that are
+     * missing, not in an allowed status or changed concurrently are reported as rejected; only the
+     * orders this request moved get a status event.
+     */
+    @Transactional
+    public BulkStatusUpdateResponse updateOrderStatuses(BulkStatusUpdateRequest request) {
+        OrderStatus next = OrderStatus.valueOf(request.getStatus());
+        Set<OrderStatus> expected = expectedStatuses(next, request.getExpectedStatus());
+        List<Long> ids = request.getIds().stream().distinct().collect(Collectors.toList());
+        BulkStatusUpdateResponse response = new BulkStatusUpdateResponse();
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<Long, OrderStatus> current = orderRepository.findByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(OrderRepository.StatusView::getId, OrderRepository.StatusView::getStatus));
+
+            List<Long> eligible = new ArrayList<>(chunk.size());
+            for (Long id : chunk) {
+                OrderStatus currentStatus = current.get(id);
+                if (currentStatus == null) {
+                    response.addRejected(id, "Order not found");
+                } else if (!expected.contains(currentStatus)) {
+                    response.addRejected(id, "Order is " + currentStatus + " and cannot move to " + next);
+                } else {
+                    eligible.add(id);
+                }
+            }
+            if (eligible.isEmpty()) {
+                continue;
+            }
+
+            List<Long> updated = transitionChunk(eligible, expected, next);
+            Set<Long> updatedIds = new HashSet<>(updated);
+            eligible.stream()
+                    .filter(id -> !updatedIds.contains(id))
+                    .forEach(id -> response.addRejected(id, "Order changed concurrently"));
+
+            List<Order> updatedOrders = orderRepository.findAllById(updated);
+            orderEventOutbox.recordAll(updatedOrders, next.name().toLowerCase());
+            for (Order order : updatedOrders) {
+                orderCache.evictOrder(order.getId());
+                orderCache.evictUserOrders(order.getUserId());
+            }
+            response.getUpdated().addAll(updated);
+        }
+        return response;
+    }
+
+    // The bulk UPDATE count cannot tell which rows another request moved in between, so on a mismatch
+    // it is rolled back to a savepoint and the chunk is retried row by row, where each count is exact
+    private List<Long> transitionChunk(List<Long> eligible, Set<OrderStatus> expected, OrderStatus next) {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        TransactionTemplate savepoint = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        Boolean allUpdated = savepoint.execute(status -> {
+            if (orderRepository.transitionStatuses(eligible, expected, next, updatedAt) == eligible.size()) {
+                return true;
+            }
+            status.setRollbackOnly();
+            return false;
+        });
+        if (Boolean.TRUE.equals(allUpdated)) {
+            return eligible;
+        }
+
+        List<Long> updated = new ArrayList<>(eligible.size());
+        for (Long id : eligible) {
+            if (orderRepository.transitionStatus(id, expected, next, updatedAt) == 1) {
+                updated.add(id);
+            }
+        }
+        return updated;
+    }
+
+    private Set<OrderStatus> expectedStatuses(OrderStatus next, String expectedStatus) {
+        Set<OrderStatus> expected = expectedStatus == null
+                ? OrderStatus.predecessorsOf(next)
+                : EnumSet.of(OrderStatus.valueOf(expectedStatus));
+        if (expected.stream().noneMatch(current -> current.canTransitionTo(next))) {
+            throw new OrderStatusConflictException("Cannot move an order from " + expected + " to " + next);
+        }
+        return expected;
+    }
+
+    @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.deleteById(id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        orderRepository.delete(order);
+        orderCache.evictOrder(id);
+        orderCache.evictUserOrders(order.getUserId());
     }
 
-    private OrderResponse convertToResponse(Order order) {
+    OrderResponse convertToResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setUserId(order.getUserId());
@@ -79,7 +359,20 @@ public class OrderService {
         response.setCreatedAt(order.getCreatedAt());
         response.setUpdatedAt(order.getUpdatedAt());
 
-        // Map items if needed
+        if (order.getItems() != null) {
+            response.setItems(order.getItems().stream()
+                    .map(this::convertToItemResponse)
+                    .collect(Collectors.toList()));
+        }
+        return response;
+    }
+
+    private OrderItemResponse convertToItemResponse(OrderItem item) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setId(item.getId());
+        response.setProductId(item.getProductId());
+        response.setQuantity(item.getQuantity());
+        response.setPrice(item.getPrice());
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- Switch orders and order_items from IDENTITY to pooled sequences so Hibernate
+-- can batch inserts. INCREMENT BY must match allocationSize on the entities.
+
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq INCREMENT BY 50;
+
+-- The pooled optimizer hands out (value - 49 .. value], so the first value
+-- must sit one allocation above the current maximum id.
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orders), false);
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items), false);
+
+ALTER TABLE orders ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE order_items ALTER COLUMN id DROP DEFAULT;
+
+DROP SEQUENCE IF EXISTS orders_id_seq;
+DROP SEQUENCE IF EXISTS order_items_id_seq;
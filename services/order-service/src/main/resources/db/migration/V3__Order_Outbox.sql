@@ -0,0 +1,11 @@
+-- Transactional outbox for order lifecycle events, drained to Kafka by OutboxPublisher.
+
+CREATE SEQUENCE order_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE order_outbox (
+    id BIGINT PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    topic VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
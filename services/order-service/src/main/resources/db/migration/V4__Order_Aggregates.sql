@@ -0,0 +1,13 @@
+-- Range scans for the aggregates API and the rollup refresher.
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+CREATE INDEX idx_orders_updated_at ON orders (updated_at);
+
+-- Daily order counts and revenue per status, maintained by OrderRollupRefresher
+-- when app.orders.rollup.enabled=true.
+CREATE TABLE order_daily_rollup (
+    order_date DATE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue NUMERIC(19,2) NOT NULL,
+    PRIMARY KEY (order_date, status)
+);
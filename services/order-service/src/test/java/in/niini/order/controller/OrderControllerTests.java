@@ -0,0 +1,169 @@
+package in.niini.order.controller;
+
+import in.niini.order.repository.OrderRepository;
+import in.niini.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testCreateOrdersInBulkRejectsInvalidItemsPerOrder() throws Exception {
+        // Given - the second order has an item without a product and the third a zero quantity
+        String body = "["
+                + "{\"userId\":1,\"totalAmount\":10.00,\"items\":[{\"productId\":1,\"quantity\":1,\"price\":10.00}]},"
+                + "{\"userId\":2,\"totalAmount\":20.00,\"items\":[{\"productId\":1,\"quantity\":1,\"price\":10.00},"
+                + "{\"quantity\":1,\"price\":10.00}]},"
+                + "{\"userId\":3,\"totalAmount\":0.00,\"items\":[{\"productId\":2,\"quantity\":0,\"price\":10.00}]},"
+                + "{\"userId\":4,\"totalAmount\":10.00,\"items\":[{\"productId\":2,\"quantity\":1}]}"
+                + "]";
+
+        // When/Then - only the invalid orders fail, the rest of the chunk is persisted
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error").value("items[1].productId is required"))
+                .andExpect(jsonPath("$[2].error").value("items[0].quantity must be positive"))
+                .andExpect(jsonPath("$[3].error").value("items[0].price is required"));
+
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    public void testCreateOrdersInBulkStopsAtUnreadableOrder() throws Exception {
+        // Given - a full chunk, one more valid order, then an order whose userId is not a number
+        String validOrder = "{\"userId\":1,\"totalAmount\":10.00,\"items\":[{\"productId\":1,\"quantity\":1,\"price\":10.00}]}";
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= OrderService.BULK_CHUNK_SIZE; i++) {
+            body.append(validOrder).append(',');
+        }
+        body.append("{\"userId\":\"abc\",\"totalAmount\":10.00,\"items\":[]},")
+                .append(validOrder)
+                .append(']');
+        int badIndex = OrderService.BULK_CHUNK_SIZE + 1;
+
+        // When/Then - the orders read before the bad element are saved and reported, the rest is not read
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(badIndex + 1))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[" + (badIndex - 1) + "].status").value("CREATED"))
+                .andExpect(jsonPath("$[" + badIndex + "].index").value(badIndex))
+                .andExpect(jsonPath("$[" + badIndex + "].status").value("FAILED"));
+
+        assertEquals(badIndex, orderRepository.count());
+    }
+
+    @Test
+    public void testCreateOrdersInBulkReportsSavedOrdersOfTruncatedPayload() throws Exception {
+        // Given - more than a chunk of valid orders, then the upload is cut off inside the next order
+        String validOrder = "{\"userId\":1,\"totalAmount\":10.00,\"items\":[{\"productId\":1,\"quantity\":1,\"price\":10.00}]}";
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= OrderService.BULK_CHUNK_SIZE; i++) {
+            body.append(validOrder).append(',');
+        }
+        body.append("{\"userId\":1,\"totalAm");
+        int truncatedIndex = OrderService.BULK_CHUNK_SIZE + 1;
+
+        // When/Then - the saved orders come back with a 200 and the cut-off element is reported as failed
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(truncatedIndex + 1))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[" + (truncatedIndex - 1) + "].status").value("CREATED"))
+                .andExpect(jsonPath("$[" + truncatedIndex + "].index").value(truncatedIndex))
+                .andExpect(jsonPath("$[" + truncatedIndex + "].status").value("FAILED"));
+
+        assertEquals(truncatedIndex, orderRepository.count());
+    }
+
+    @Test
+    public void testBulkStatusUpdateRequiresIds() throws Exception {
+        // When/Then
+        mockMvc.perform(put("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[],\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetOrderPageIncludesItems() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"totalAmount\":20.00,\"items\":[{\"productId\":1,\"quantity\":2,\"price\":10.00}]}"))
+                .andExpect(status().isCreated());
+
+        // When/Then
+        mockMvc.perform(get("/api/orders").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders.length()").value(1))
+                .andExpect(jsonPath("$.orders[0].items.length()").value(1))
+                .andExpect(jsonPath("$.orders[0].items[0].quantity").value(2))
+                .andExpect(jsonPath("$.nextAfter").isNumber());
+    }
+
+    @Test
+    public void testCreateOrdersInBulk() throws Exception {
+        // Given - the second order has no items
+        String body = "["
+                + "{\"userId\":1,\"totalAmount\":10.00,\"items\":[{\"productId\":1,\"quantity\":1,\"price\":10.00}]},"
+                + "{\"userId\":2,\"totalAmount\":5.00,\"items\":[]},"
+                + "{\"userId\":3,\"totalAmount\":20.00,\"items\":[{\"productId\":2,\"quantity\":2,\"price\":10.00}]}"
+                + "]";
+
+        // When/Then
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].orderId").isNumber())
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error").value("at least one item is required"))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        assertEquals(2, orderRepository.count());
+    }
+}
@@ -0,0 +1,127 @@
+package in.niini.order.event;
+
+import in.niini.order.dto.OrderResponse;
+import in.niini.order.model.OutboxEvent;
+import in.niini.order.repository.OrderRepository;
+import in.niini.order.repository.OutboxEventRepository;
+import in.niini.order.service.OrderService;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "app.outbox.publisher.enabled=true",
+        "app.outbox.publisher.poll-interval-ms=3600000",
+        "app.outbox.publisher.send-timeout-ms=200"
+})
+@ActiveProfiles("test")
+public class OutboxPublisherTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @BeforeEach
+    public void setup() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    public void testOrderChangesAreRecordedInOutbox() {
+        // When
+        OrderResponse order = orderService.createOrder(orderRequest(1L));
+        orderService.updateOrderStatus(order.getId(), "CONFIRMED");
+        orderService.updateOrderStatus(order.getId(), "SHIPPED");
+
+        // Then
+        List<String> topics = outboxEventRepository.findAll().stream()
+                .map(OutboxEvent::getTopic)
+                .collect(Collectors.toList());
+        assertEquals(List.of("order.created", "order.confirmed", "order.shipped"), topics);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishPendingSendsAndDrainsOutbox() {
+        // Given
+        OrderResponse order = orderService.createOrder(orderRequest(1L));
+        SettableListenableFuture<SendResult<String, String>> acked = new SettableListenableFuture<>();
+        acked.set(null);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(acked);
+
+        // When
+        outboxPublisher.publishPending();
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, String>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(1)).send(record.capture());
+        assertEquals("order.created", record.getValue().topic());
+        assertEquals(String.valueOf(order.getId()), record.getValue().key());
+        assertTrue(record.getValue().value().contains("\"orderId\":" + order.getId()));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFailedSendKeepsEventsInOutbox() {
+        // Given
+        orderService.createOrder(orderRequest(1L));
+        SettableListenableFuture<SendResult<String, String>> failed = new SettableListenableFuture<>();
+        failed.setException(new RuntimeException("broker unavailable"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(failed);
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> outboxPublisher.publishPending());
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnacknowledgedSendTimesOutAndKeepsEventsInOutbox() {
+        // Given - the broker never acknowledges
+        orderService.createOrder(orderRequest(1L));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new SettableListenableFuture<>());
+
+        // When/Then - the batch gives up after the send timeout and releases its rows
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> outboxPublisher.publishPending()));
+        assertEquals(1, outboxEventRepository.count());
+    }
+}
@@ -0,0 +1,41 @@
+package in.niini.order.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatusTest {
+
+    @Test
+    public void testForwardTransitions() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+    }
+
+    @Test
+    public void testCancellation() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    public void testInvalidTransitions() {
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.SHIPPED));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CONFIRMED));
+        assertFalse(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.PENDING));
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.PENDING));
+    }
+
+    @Test
+    public void testPredecessorsOf() {
+        assertEquals(EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                OrderStatus.predecessorsOf(OrderStatus.CANCELLED));
+        assertEquals(EnumSet.of(OrderStatus.CONFIRMED), OrderStatus.predecessorsOf(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.predecessorsOf(OrderStatus.PENDING).isEmpty());
+    }
+}
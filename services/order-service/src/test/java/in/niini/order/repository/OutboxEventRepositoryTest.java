@@ -0,0 +1,44 @@
+package in.niini.order.repository;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.Dialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.lang.reflect.Method;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxEventRepositoryTest {
+
+    @Test
+    public void testBatchClaimRendersSkipLockedOnTheProductionDialect() throws Exception {
+        // Given - the lock mode and timeout hint the publisher's batch query runs with
+        Method claim = OutboxEventRepository.class.getMethod("findAllByOrderByIdAsc", Pageable.class);
+        Lock lock = claim.getAnnotation(Lock.class);
+        QueryHint timeout = claim.getAnnotation(QueryHints.class).value()[0];
+        assertEquals("javax.persistence.lock.timeout", timeout.name());
+
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Dialect dialect = (Dialect) Class.forName(properties.getProperty("spring.jpa.properties.hibernate.dialect"))
+                .getDeclaredConstructor()
+                .newInstance();
+        LockOptions lockOptions = new LockOptions(LockMode.PESSIMISTIC_WRITE)
+                .setTimeOut(Integer.parseInt(timeout.value()));
+
+        // When
+        String lockClause = dialect.getForUpdateString(lockOptions);
+
+        // Then
+        assertEquals(LockModeType.PESSIMISTIC_WRITE, lock.value());
+        assertEquals(" for update skip locked", lockClause);
+    }
+}
@@ -0,0 +1,96 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderAggregate;
+import in.niini.order.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderAggregateServiceTests {
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testAggregateByStatus() {
+        // Given
+        Long confirmedId = orderService.createOrder(orderRequest(1L, "10.00")).getId();
+        orderService.createOrder(orderRequest(1L, "20.00"));
+        orderService.createOrder(orderRequest(2L, "5.00"));
+        orderService.updateOrderStatus(confirmedId, "CONFIRMED");
+
+        // When
+        List<OrderAggregate> aggregates = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.STATUS, null, null, 100);
+
+        // Then
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), "CONFIRMED", 1, "10.00");
+        assertAggregate(aggregates.get(1), "PENDING", 2, "25.00");
+    }
+
+    @Test
+    public void testAggregateByUserOrdersByRevenueAndHonoursLimit() {
+        // Given
+        orderService.createOrder(orderRequest(1L, "10.00"));
+        orderService.createOrder(orderRequest(2L, "50.00"));
+        orderService.createOrder(orderRequest(2L, "5.00"));
+        orderService.createOrder(orderRequest(3L, "1.00"));
+
+        // When
+        List<OrderAggregate> aggregates = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.USER, null, null, 2);
+
+        // Then
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), "2", 2, "55.00");
+        assertAggregate(aggregates.get(1), "1", 1, "10.00");
+    }
+
+    @Test
+    public void testAggregateByDayExcludesOrdersOutsideRange() {
+        // Given
+        orderService.createOrder(orderRequest(1L, "10.00"));
+        orderService.createOrder(orderRequest(2L, "15.00"));
+        LocalDate today = LocalDate.now();
+
+        // When
+        List<OrderAggregate> todays = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.DAY, today, today.plusDays(1), 100);
+        List<OrderAggregate> yesterdays = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.DAY, today.minusDays(1), today, 100);
+
+        // Then
+        assertEquals(1, todays.size());
+        assertAggregate(todays.get(0), today.toString(), 2, "25.00");
+        assertTrue(yesterdays.isEmpty());
+    }
+
+    static void assertAggregate(OrderAggregate aggregate, String key, long orderCount, String revenue) {
+        assertEquals(key, aggregate.getKey());
+        assertEquals(orderCount, aggregate.getOrderCount());
+        assertEquals(0, new BigDecimal(revenue).compareTo(aggregate.getRevenue()));
+    }
+}
@@ -0,0 +1,47 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderItemRequest;
+import in.niini.order.dto.OrderRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    public static OrderRequest orderRequest(long userId) {
+        return orderRequest(userId, 1);
+    }
+
+    /**
+     * A single-item order whose item price equals {@code totalAmount}.
+     */
+    public static OrderRequest orderRequest(long userId, String totalAmount) {
+        OrderRequest request = orderRequest(userId, 1);
+        request.getItems().get(0).setPrice(new BigDecimal(totalAmount));
+        request.setTotalAmount(new BigDecimal(totalAmount));
+        return request;
+    }
+
+    public static OrderRequest orderRequest(long userId, int itemCount) {
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId((long) i + 1);
+            item.setQuantity(1);
+            item.setPrice(new BigDecimal("9.99"));
+            total = total.add(item.getPrice());
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setUserId(userId);
+        request.setTotalAmount(total);
+        request.setItems(items);
+        return request;
+    }
+}
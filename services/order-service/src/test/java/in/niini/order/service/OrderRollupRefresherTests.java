@@ -0,0 +1,95 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderAggregate;
+import in.niini.order.model.OrderDailyRollup;
+import in.niini.order.model.OrderStatus;
+import in.niini.order.repository.OrderAggregateRepository;
+import in.niini.order.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static in.niini.order.service.OrderAggregateServiceTests.assertAggregate;
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.orders.rollup.enabled=true",
+        "app.orders.rollup.initial-delay-ms=3600000",
+        "app.orders.rollup.refresh-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class OrderRollupRefresherTests {
+
+    @Autowired
+    private OrderRollupRefresher orderRollupRefresher;
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderAggregateRepository orderAggregateRepository;
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+        orderAggregateRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testStatusAggregatesAreServedFromRollup() {
+        // Given
+        LocalDate orderDate = orderService.createOrder(orderRequest(1L, "10.00")).getCreatedAt().toLocalDate();
+        orderService.createOrder(orderRequest(2L, "20.00"));
+
+        // When
+        List<OrderAggregate> beforeRefresh = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.STATUS, null, null, 100);
+        orderRollupRefresher.refresh();
+        List<OrderAggregate> afterRefresh = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.STATUS, null, null, 100);
+
+        // Then
+        assertTrue(beforeRefresh.isEmpty());
+        assertEquals(1, afterRefresh.size());
+        assertAggregate(afterRefresh.get(0), "PENDING", 2, "30.00");
+
+        List<OrderDailyRollup> rows = orderAggregateRepository.findAll();
+        assertEquals(1, rows.size());
+        assertEquals(OrderStatus.PENDING, rows.get(0).getId().getStatus());
+        assertEquals(orderDate, rows.get(0).getId().getOrderDate());
+        assertEquals(2L, rows.get(0).getOrderCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rows.get(0).getRevenue()));
+    }
+
+    @Test
+    public void testRefreshRecomputesDaysWithUpdatedOrders() {
+        // Given
+        Long id = orderService.createOrder(orderRequest(1L, "10.00")).getId();
+        orderService.createOrder(orderRequest(2L, "20.00"));
+        orderRollupRefresher.refresh();
+
+        // When
+        orderService.updateOrderStatus(id, "CONFIRMED");
+        orderRollupRefresher.refresh();
+        List<OrderAggregate> aggregates = orderAggregateService.aggregate(
+                OrderAggregateService.GroupBy.STATUS, null, null, 100);
+
+        // Then
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), "CONFIRMED", 1, "10.00");
+        assertAggregate(aggregates.get(1), "PENDING", 1, "20.00");
+    }
+}
@@ -0,0 +1,112 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderResponse;
+import in.niini.order.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderServiceCacheTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetOrderByIdIsServedFromCache() {
+        // Given
+        Long id = orderService.createOrder(orderRequest(10L)).getId();
+        orderService.getOrderById(id);
+        statistics.clear();
+
+        // When
+        OrderResponse order = orderService.getOrderById(id);
+
+        // Then
+        assertEquals(id, order.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", OrderCache.ORDERS).meter());
+    }
+
+    @Test
+    public void testCachedOrdersAreNotSharedBetweenCallers() {
+        // Given
+        Long id = orderService.createOrder(orderRequest(13L)).getId();
+        OrderResponse first = orderService.getOrderById(id);
+        orderService.getOrdersByUserId(13L).get(0).setStatus("CANCELLED");
+
+        // When - a caller mutates the instances it got back
+        first.setStatus("CANCELLED");
+        first.getItems().clear();
+
+        // Then
+        OrderResponse order = orderService.getOrderById(id);
+        assertNotSame(first, order);
+        assertEquals("PENDING", order.getStatus());
+        assertEquals(1, order.getItems().size());
+        assertEquals("PENDING", orderService.getOrdersByUserId(13L).get(0).getStatus());
+    }
+
+    @Test
+    public void testUpdateOrderStatusInvalidatesCaches() {
+        // Given
+        Long id = orderService.createOrder(orderRequest(11L)).getId();
+        assertEquals("PENDING", orderService.getOrderById(id).getStatus());
+        assertEquals("PENDING", orderService.getOrdersByUserId(11L).get(0).getStatus());
+
+        // When
+        orderService.updateOrderStatus(id, "CONFIRMED");
+
+        // Then
+        assertEquals("CONFIRMED", orderService.getOrderById(id).getStatus());
+        assertEquals("CONFIRMED", orderService.getOrdersByUserId(11L).get(0).getStatus());
+    }
+
+    @Test
+    public void testCreateAndDeleteInvalidateUserOrders() {
+        // Given
+        Long id = orderService.createOrder(orderRequest(12L)).getId();
+        assertEquals(1, orderService.getOrdersByUserId(12L).size());
+
+        // When/Then
+        orderService.createOrder(orderRequest(12L));
+        assertEquals(2, orderService.getOrdersByUserId(12L).size());
+
+        orderService.deleteOrder(id);
+        assertEquals(1, orderService.getOrdersByUserId(12L).size());
+        assertThrows(RuntimeException.class, () -> orderService.getOrderById(id));
+    }
+}
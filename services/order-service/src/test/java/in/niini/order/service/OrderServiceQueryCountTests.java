@@ -0,0 +1,105 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.OrderPageResponse;
+import in.niini.order.dto.OrderRequest;
+import in.niini.order.dto.OrderResponse;
+import in.niini.order.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderServiceQueryCountTests {
+
+    private static final int ORDER_COUNT = 20;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderService.createOrder(orderRequest(i % 2 == 0 ? 1L : 2L, ITEMS_PER_ORDER));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testOrderPageHydratesItemsInTwoQueries() {
+        // When
+        OrderPageResponse page = orderService.getOrderPage(null, OrderService.MAX_PAGE_SIZE);
+
+        // Then - one query for the page of orders, one batched query for all of their items
+        List<OrderResponse> orders = page.getOrders();
+        assertEquals(ORDER_COUNT, orders.size());
+        assertNull(page.getNextAfter());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testOrdersByUserIdHydratesItemsInOneQuery() {
+        // When
+        List<OrderResponse> orders = orderService.getOrdersByUserId(1L);
+
+        // Then
+        assertEquals(ORDER_COUNT / 2, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testOrderByIdHydratesItemsInOneQuery() {
+        // Given
+        Long id = orderService.getOrdersAfter(null, 1).get(0).getId();
+        statistics.clear();
+
+        // When
+        OrderResponse order = orderService.getOrderById(id);
+
+        // Then
+        assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCreateOrderBatchesItemInserts() {
+        // Given
+        OrderRequest cart = orderRequest(3L, 50);
+
+        // When
+        orderService.createOrder(cart);
+
+        // Then - sequence allocations plus one batched insert per table, not one statement per item
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
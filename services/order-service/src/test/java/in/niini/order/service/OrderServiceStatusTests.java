@@ -0,0 +1,168 @@
+package in.niini.order.service;
+
+import in.niini.order.dto.BulkStatusUpdateRequest;
+import in.niini.order.dto.BulkStatusUpdateResponse;
+import in.niini.order.dto.OrderResponse;
+import in.niini.order.exception.OrderStatusConflictException;
+import in.niini.order.model.OrderStatus;
+import in.niini.order.repository.OrderRepository;
+import in.niini.order.repository.OutboxEventRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static in.niini.order.service.OrderFixtures.orderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderServiceStatusTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @SpyBean
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long orderId;
+
+    @BeforeEach
+    public void setup() {
+        orderId = orderService.createOrder(orderRequest(20L)).getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testValidTransition() {
+        // When
+        OrderResponse order = orderService.updateOrderStatus(orderId, "CONFIRMED");
+
+        // Then
+        assertEquals("CONFIRMED", order.getStatus());
+        assertEquals(1, order.getItems().size());
+    }
+
+    @Test
+    public void testTransitionIsOneUpdateStatement() {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        orderService.updateOrderStatus(orderId, "CONFIRMED");
+
+        // Then - no entity merge: the status change is written by the conditional UPDATE alone
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    public void testSkippingAStatusIsRejected() {
+        // When/Then
+        assertThrows(OrderStatusConflictException.class,
+                () -> orderService.updateOrderStatus(orderId, "SHIPPED"));
+        assertEquals("PENDING", orderService.getOrderById(orderId).getStatus());
+    }
+
+    @Test
+    public void testStaleExpectedStatusIsRejected() {
+        // Given - another request confirmed the order first
+        orderService.updateOrderStatus(orderId, "CONFIRMED", "PENDING");
+
+        // When/Then
+        assertThrows(OrderStatusConflictException.class,
+                () -> orderService.updateOrderStatus(orderId, "CANCELLED", "PENDING"));
+        assertEquals("CONFIRMED", orderService.getOrderById(orderId).getStatus());
+    }
+
+    @Test
+    public void testBulkTransitionReportsUpdatedAndRejected() {
+        // Given
+        Long confirmedId = orderService.createOrder(orderRequest(20L)).getId();
+        orderService.updateOrderStatus(confirmedId, "CONFIRMED");
+        Long missingId = -1L;
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setIds(Arrays.asList(orderId, confirmedId, missingId));
+        request.setStatus("SHIPPED");
+
+        // When
+        BulkStatusUpdateResponse response = orderService.updateOrderStatuses(request);
+
+        // Then
+        assertEquals(Collections.singletonList(confirmedId), response.getUpdated());
+        assertEquals(2, response.getRejected().size());
+        assertEquals(orderId, response.getRejected().get(0).getId());
+        assertEquals("Order is PENDING and cannot move to SHIPPED", response.getRejected().get(0).getReason());
+        assertEquals(missingId, response.getRejected().get(1).getId());
+        assertEquals("SHIPPED", orderService.getOrderById(confirmedId).getStatus());
+    }
+
+    @Test
+    public void testBulkTransitionSkipsOrdersMovedConcurrently() {
+        // Given - another request confirms the first order after the bulk request read it as PENDING
+        Long otherId = orderService.createOrder(orderRequest(20L)).getId();
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> orderService.updateOrderStatus(orderId, "CONFIRMED")).join();
+            return Arrays.asList(statusView(orderId, OrderStatus.PENDING), statusView(otherId, OrderStatus.PENDING));
+        }).when(orderRepository).findByIdIn(anyCollection());
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setIds(Arrays.asList(orderId, otherId));
+        request.setStatus("CONFIRMED");
+
+        // When
+        BulkStatusUpdateResponse response = orderService.updateOrderStatuses(request);
+
+        // Then - the concurrently confirmed order is not claimed, so it gets a single status event
+        assertEquals(Collections.singletonList(otherId), response.getUpdated());
+        assertEquals(1, response.getRejected().size());
+        assertEquals(orderId, response.getRejected().get(0).getId());
+        assertEquals("Order changed concurrently", response.getRejected().get(0).getReason());
+        assertEquals(1, confirmedEvents(orderId));
+        assertEquals(1, confirmedEvents(otherId));
+    }
+
+    private long confirmedEvents(Long id) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> id.equals(event.getAggregateId()))
+                .filter(event -> "order.confirmed".equals(event.getTopic()))
+                .count();
+    }
+
+    private static OrderRepository.StatusView statusView(Long id, OrderStatus status) {
+        return new OrderRepository.StatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package in.niini.minishop.userservice.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signin verify latency per hashing cost, to pick {@code app.security.password-hashing.strength}
+ * (or PBKDF2 iterations) that keeps p99 signin within budget on the target hardware. Sample-time
+ * mode reports the latency distribution; read the p0.99 line. Run with {@code -t} set to the
+ * hashing pool size to include contention between concurrent signins.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @State(Scope.Benchmark)
+    public static class BCrypt {
+        @Param({"10", "11", "12", "13"})
+        private int cost;
+
+        private BCryptPasswordEncoder encoder;
+        private String hash;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            encoder = new BCryptPasswordEncoder(cost);
+            hash = encoder.encode(PASSWORD);
+        }
+    }
+
+    // PBKDF2-HMAC-SHA256 as configured with algorithm: pbkdf2
+    @State(Scope.Benchmark)
+    public static class Pbkdf2 {
+        @Param({"310000", "600000"})
+        private int iterations;
+
+        private Pbkdf2PasswordEncoder encoder;
+        private String hash;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            encoder = new Pbkdf2PasswordEncoder("", 16, iterations, 256);
+            encoder.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            hash = encoder.encode(PASSWORD);
+        }
+    }
+
+    @Benchmark
+    public boolean bcryptMatches(BCrypt bcrypt) {
+        return bcrypt.encoder.matches(PASSWORD, bcrypt.hash);
+    }
+
+    @Benchmark
+    public boolean pbkdf2Matches(Pbkdf2 pbkdf2) {
+        return pbkdf2.encoder.matches(PASSWORD, pbkdf2.hash);
+    }
+}
@@ -5,14 +5,22 @@ import in.niini.minishop.userservice.model.Role.ERole;
 import in.niini.minishop.userservice.model.User;
 import in.niini.minishop.userservice.payload.request.LoginRequest;
 import in.niini.minishop.userservice.payload.request.SignupRequest;
+import in.niini.minishop.userservice.payload.request.TokenRefreshRequest;
 import in.niini.minishop.userservice.payload.response.JwtResponse;
 import in.niini.minishop.userservice.payload.response.MessageResponse;
-import in.niini.minishop.userservice.repository.RoleRepository;
 import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.PasswordHashingRejectedException;
 import in.niini.minishop.userservice.security.jwt.JwtUtils;
 import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import in.niini.minishop.userservice.service.RefreshTokenService;
+import in.niini.minishop.userservice.service.RoleRegistry;
+import in.niini.minishop.userservice.service.TokenRefreshException;
 import javax.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -37,7 +45,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -45,6 +53,9 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
 
@@ -52,34 +63,42 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
-
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(userDetails.getId());
+        String jwt = jwtUtils.generateJwtToken(authentication, refreshToken.getSessionId());
+
+        return ResponseEntity.ok(toJwtResponse(jwt, refreshToken.getToken(), userDetails));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        String jwt = jwtUtils.generateJwtToken(rotation.getUser(), rotation.getRefreshToken().getSessionId());
+
+        return ResponseEntity.ok(toJwtResponse(jwt, rotation.getRefreshToken().getToken(), rotation.getUser()));
+    }
+
+    @PostMapping("/signout")
+    public ResponseEntity<?> signout(@Valid @RequestBody TokenRefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.ok(new MessageResponse("Signed out successfully!"));
+    }
+
+    private JwtResponse toJwtResponse(String jwt, String refreshToken, UserDetailsImpl userDetails) {
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
+        return new JwtResponse(jwt,
+                refreshToken,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
-                roles));
+                roles);
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
-
         // Create new user's account
         User user = User.builder()
                 .username(signUpRequest.getUsername())
@@ -93,33 +112,92 @@ public class AuthController {
         Set<Role> roles = new HashSet<>();
 
         if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
+            roles.add(roleRegistry.getRole(ERole.ROLE_USER));
         } else {
             strRoles.forEach(role -> {
                 switch (role) {
                     case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
+                        roles.add(roleRegistry.getRole(ERole.ROLE_ADMIN));
                         break;
                     case "mod":
-                        Role modRole = roleRepository.findByName(ERole.ROLE_MODERATOR)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(modRole);
+                        roles.add(roleRegistry.getRole(ERole.ROLE_MODERATOR));
                         break;
                     default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
+                        roles.add(roleRegistry.getRole(ERole.ROLE_USER));
                 }
             });
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+
+        // The unique constraints on users decide whether the username or email is taken
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            String violated = violatedColumn(e);
+            if ("username".equals(violated)) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse("Error: Username is already taken!"));
+            }
+            if ("email".equals(violated)) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse("Error: Email is already in use!"));
+            }
+            throw e;
+        }
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<MessageResponse> handlePasswordHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Too many requests, please try again later."));
+    }
+
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<MessageResponse> handleTokenRefresh(TokenRefreshException e) {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
+    /**
+     * Works out which unique column was violated from the constraint name and driver message, e.g.
+     * {@code users_email_key} on Postgres or {@code PUBLIC.USERS(EMAIL ...)} on H2. The column is always
+     * named before the duplicate value, so the earliest match wins.
+     */
+    private String violatedColumn(DataIntegrityViolationException e) {
+        StringBuilder text = new StringBuilder();
+        if (e.getCause() instanceof ConstraintViolationException) {
+            text.append(((ConstraintViolationException) e.getCause()).getConstraintName()).append(' ');
+        }
+        text.append(e.getMostSpecificCause().getMessage());
+        String details = text.toString().toLowerCase();
+
+        int username = firstIndexOf(details, "users_username", "(username");
+        int email = firstIndexOf(details, "users_email", "(email");
+        if (username < 0 && email < 0) {
+            return null;
+        }
+        if (email < 0 || (username >= 0 && username < email)) {
+            return "username";
+        }
+        return "email";
+    }
+
+    private static int firstIndexOf(String text, String... markers) {
+        int first = -1;
+        for (String marker : markers) {
+            int index = text.indexOf(marker);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        return first;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package in.niini.minishop.userservice.controller;
+
+import in.niini.minishop.userservice.payload.response.MessageResponse;
+import in.niini.minishop.userservice.service.RoleRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/roles")
+public class RoleController {
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    /**
+     * Reloads the in-memory role registry from the {@code roles} table, e.g. after a migration added a role.
+     */
+    @PostMapping("/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> refreshRoles() {
+        roleRegistry.refresh();
+        return ResponseEntity.ok(new MessageResponse("Roles reloaded"));
+    }
+}
@@ -1,18 +1,24 @@
 package in.niini.minishop.userservice.controller;
 
+import in.niini.minishop.userservice.event.UserChangedEvent;
 import in.niini.minishop.userservice.model.User;
 import in.niini.minishop.userservice.payload.response.MessageResponse;
+import in.niini.minishop.userservice.payload.response.UserSummaryResponse;
 import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.jwt.TokenRevocationCache;
 import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import in.niini.minishop.userservice.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/users")
@@ -20,16 +26,25 @@ public class UserController {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Page<UserSummaryResponse>> getAllUsers(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return ResponseEntity.ok(userService.listUsers(pageable));
     }
     
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or (hasRole('USER') and @userRepository.findById(#id).isPresent() and @userRepository.findById(#id).get().getUsername().equals(authentication.name))")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or (hasRole('USER') and @ownership.isSelf(authentication, #id))")
     public ResponseEntity<?> getUserById(@PathVariable("id") Long id) {
         return userRepository.findById(id)
                 .map(ResponseEntity::ok)
@@ -53,6 +68,8 @@ public class UserController {
         return userRepository.findById(id)
                 .map(user -> {
                     userRepository.delete(user);
+                    tokenRevocationCache.revokeUser(user.getId());
+                    eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
                     return ResponseEntity.ok(new MessageResponse("User deleted successfully"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -0,0 +1,14 @@
+package in.niini.minishop.userservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when a user is deleted or their roles or credentials change, so cached copies can be dropped.
+ */
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+    private Long userId;
+    private String username;
+}
@@ -0,0 +1,29 @@
+package in.niini.minishop.userservice.model;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_revocations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Tokens of the user issued up to this instant are rejected
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,10 @@
+package in.niini.minishop.userservice.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,35 @@
+package in.niini.minishop.userservice.repository;
+
+import in.niini.minishop.userservice.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Succeeds for exactly one caller, so a token cannot be exchanged twice
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.replacedAt = :now "
+            + "WHERE t.id = :id AND t.replacedAt IS NULL AND t.revokedAt IS NULL")
+    int markReplaced(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.sessionId = :sessionId AND t.revokedAt IS NULL")
+    int revokeSession(@Param("sessionId") String sessionId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.sessionId FROM RefreshToken t WHERE t.revokedAt >= :since")
+    List<String> findSessionIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,9 +1,17 @@
 package in.niini.minishop.userservice.repository;
 
+import in.niini.minishop.userservice.model.Role.ERole;
 import in.niini.minishop.userservice.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +24,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.firstName AS firstName, "
+            + "u.lastName AS lastName, u.createdAt AS createdAt FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT u.id AS userId, r.name AS role FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<UserRoleView> findRolesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    interface UserSummary {
+        Long getId();
+
+        String getUsername();
+
+        String getEmail();
+
+        String getFirstName();
+
+        String getLastName();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface UserRoleView {
+        Long getUserId();
+
+        ERole getRole();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package in.niini.minishop.userservice.repository;
+
+import in.niini.minishop.userservice.model.UserRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserRevocationRepository extends JpaRepository<UserRevocation, Long> {
+
+    List<UserRevocation> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserRevocation r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package in.niini.minishop.userservice.security;
+
+import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership checks for {@code @PreAuthorize} expressions, e.g. {@code @ownership.isSelf(authentication, #id)}.
+ * The user id comes from the authenticated principal, so no query is needed.
+ */
+@Component("ownership")
+public class OwnershipChecker {
+
+    public boolean isSelf(Authentication authentication, Long userId) {
+        if (authentication == null || userId == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            return false;
+        }
+        return userId.equals(((UserDetailsImpl) authentication.getPrincipal()).getId());
+    }
+}
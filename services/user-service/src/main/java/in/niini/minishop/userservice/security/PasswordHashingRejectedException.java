@@ -0,0 +1,12 @@
+package in.niini.minishop.userservice.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; callers should answer 429 and let the client retry.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -2,11 +2,14 @@ package in.niini.minishop.userservice.security;
 
 import in.niini.minishop.userservice.security.jwt.AuthEntryPointJwt;
 import in.niini.minishop.userservice.security.jwt.AuthTokenFilter;
-import in.niini.minishop.userservice.security.service.UserDetailsServiceImpl;
+import in.niini.minishop.userservice.security.service.CachedUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,28 +17,57 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig {
     @Autowired
-    UserDetailsServiceImpl userDetailsService;
+    CachedUserDetailsService userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.security.password-hashing.algorithm:bcrypt}")
+    private String hashingAlgorithm;
+
+    @Value("${app.security.password-hashing.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password-hashing.pbkdf2-iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${app.security.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.password-hashing.queue-capacity:100}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password-hashing.timeout:5s}")
+    private Duration hashingTimeout;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -47,6 +79,8 @@ public class WebSecurityConfig {
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the password on successful signin when its encoding is outdated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -58,7 +92,42 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(),
+                passwordHashingExecutor(), hashingTimeout, meterRegistry);
+    }
+
+    /**
+     * New hashes use {@code app.security.password-hashing.algorithm} and are stored with an
+     * {@code {id}} prefix. Hashes with another id, a lower BCrypt strength, or no prefix at all
+     * (stored before the prefix was introduced, always BCrypt) are upgraded on the next signin.
+     */
+    private PasswordEncoder delegatingPasswordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Pbkdf2PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations, 256);
+        pbkdf2.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", pbkdf2);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(hashingAlgorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Hashing is CPU bound, so the pool defaults to one thread per core. Requests beyond the queue
+     * capacity are rejected rather than left to pile up on request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingQueueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+        return executor;
     }
 
     @Bean
@@ -1,6 +1,7 @@
 package in.niini.minishop.userservice.security.jwt;
 
-import in.niini.minishop.userservice.security.service.UserDetailsServiceImpl;
+import in.niini.minishop.userservice.security.service.CachedUserDetailsService;
+import io.jsonwebtoken.Claims;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -8,6 +9,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,13 +18,20 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Value("${app.jwt.revocation.enabled:true}")
+    private boolean revocationEnabled;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -31,10 +40,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Optional<Claims> claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : Optional.empty();
+            if (claims.isPresent() && !isRevoked(claims.get())) {
+                // Tokens carry id, email and roles; only tokens issued before that need a user lookup
+                UserDetails userDetails = jwtUtils.getUserDetailsFromClaims(claims.get());
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(claims.get().getSubject());
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -51,6 +64,25 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isRevoked(Claims claims) {
+        if (!revocationEnabled) {
+            return false;
+        }
+
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        if (userId != null && tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+            logger.warn("Rejected revoked token for user: {}", claims.getSubject());
+            return true;
+        }
+
+        String sessionId = claims.get(JwtUtils.CLAIM_SESSION_ID, String.class);
+        if (sessionId != null && tokenRevocationCache.isSessionRevoked(sessionId)) {
+            logger.warn("Rejected token of revoked session for user: {}", claims.getSubject());
+            return true;
+        }
+        return false;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -1,22 +1,43 @@
 package in.niini.minishop.userservice.security.jwt;
 
+import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_USER_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_SESSION_ID = "sid";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -26,41 +47,146 @@ public class JwtUtils {
     @Value("${app.jwt.issuer}")
     private String issuer;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key key;
+
+    private JwtParser parser;
+
+    // Claims of tokens whose signature was already checked, keyed by token digest and dropped at token expiry
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        if (claims.getExpiration() == null) {
+                            return 0;
+                        }
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateJwtToken((UserDetails) authentication.getPrincipal(), null);
+    }
+
+    public String generateJwtToken(Authentication authentication, String sessionId) {
+        return generateJwtToken((UserDetails) authentication.getPrincipal(), sessionId);
+    }
 
-        return Jwts.builder()
+    /**
+     * Issues an access token for the user. Tokens with a session id are rejected once that session's
+     * refresh token is revoked.
+     */
+    public String generateJwtToken(UserDetails userPrincipal, String sessionId) {
+        JwtBuilder builder = Jwts.builder();
+        if (sessionId != null) {
+            builder.claim(CLAIM_SESSION_ID, sessionId);
+        }
+        if (userPrincipal instanceof UserDetailsImpl) {
+            UserDetailsImpl user = (UserDetailsImpl) userPrincipal;
+            builder.claim(CLAIM_USER_ID, user.getId())
+                    .claim(CLAIM_EMAIL, user.getEmail());
+        }
+
+        return builder
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()))
                 .setSubject(userPrincipal.getUsername())
                 .setIssuedAt(new Date())
                 .setIssuer(issuer)
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or empty if the token is invalid or expired.
+     */
+    public Optional<Claims> getValidatedClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            return Optional.of(verify(authToken));
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuilds the principal from the token claims alone, or returns null if the token predates the
+     * id and roles claims and the user has to be loaded from the database.
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long id = claims.get(CLAIM_USER_ID, Long.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+        return new UserDetailsImpl(id, claims.getSubject(), claims.get(CLAIM_EMAIL, String.class), null, authorities);
+    }
+
+    private Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package in.niini.minishop.userservice.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.niini.minishop.userservice.model.UserRevocation;
+import in.niini.minishop.userservice.repository.RefreshTokenRepository;
+import in.niini.minishop.userservice.repository.UserRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users and sessions whose previously issued tokens must no longer be accepted, e.g. after the account
+ * was deleted or the session signed out. Entries only need to outlive the tokens they cancel, so they
+ * expire after the access-token lifetime. User revocations are stored in {@code user_revocations} and
+ * revoked sessions in the refresh token table; both are polled, so revocations made on other instances
+ * are picked up within {@code app.jwt.revocation.poll-interval-ms}.
+ */
+@Component
+public class TokenRevocationCache {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationCache.class);
+
+    // Re-read a little before the watermark so revocations committed late are not missed
+    private static final long POLL_OVERLAP_SECONDS = 5;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRevocationRepository userRevocationRepository;
+
+    @Value("${app.jwt.expiration}")
+    private int jwtExpirationMs;
+
+    @Value("${app.jwt.revocation.enabled:true}")
+    private boolean revocationEnabled;
+
+    // User id -> epoch millis of the revocation
+    private Cache<Long, Long> revokedUsers;
+
+    private Cache<String, Boolean> revokedSessions;
+
+    private LocalDateTime loadedUntil;
+
+    @PostConstruct
+    public void init() {
+        revokedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(jwtExpirationMs, TimeUnit.MILLISECONDS)
+                .build();
+        revokedSessions = Caffeine.newBuilder()
+                .expireAfterWrite(jwtExpirationMs, TimeUnit.MILLISECONDS)
+                .build();
+        loadedUntil = LocalDateTime.now().minusNanos(jwtExpirationMs * 1_000_000L);
+        loadRevocations();
+    }
+
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        userRevocationRepository.save(UserRevocation.builder().userId(userId).revokedAt(now).build());
+        revokeUserLocally(userId, now);
+    }
+
+    private void revokeUserLocally(Long userId, LocalDateTime revokedAt) {
+        long revokedAtMillis = revokedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        revokedUsers.asMap().merge(userId, revokedAtMillis, Math::max);
+    }
+
+    /**
+     * Returns true if the user's tokens were revoked at or after {@code issuedAt}. Token timestamps
+     * have second precision, so a token issued in the same second as the revocation is rejected too.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedUsers.getIfPresent(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedAt / 1000;
+    }
+
+    public void revokeSession(String sessionId) {
+        revokedSessions.put(sessionId, Boolean.TRUE);
+    }
+
+    public boolean isSessionRevoked(String sessionId) {
+        return revokedSessions.getIfPresent(sessionId) != null;
+    }
+
+    /**
+     * Adds users and sessions revoked since the previous poll, so the auth filter never has to query
+     * the database.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.poll-interval-ms:10000}")
+    public synchronized void loadRevocations() {
+        if (!revocationEnabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = loadedUntil.minusSeconds(POLL_OVERLAP_SECONDS);
+        try {
+            userRevocationRepository.findByRevokedAtGreaterThanEqual(since)
+                    .forEach(revocation -> revokeUserLocally(revocation.getUserId(), revocation.getRevokedAt()));
+            refreshTokenRepository.findSessionIdsRevokedSince(since)
+                    .forEach(this::revokeSession);
+            loadedUntil = now;
+        } catch (DataAccessException e) {
+            logger.warn("Could not load revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes user revocations older than the access-token lifetime; every token they cancel has expired.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = userRevocationRepository.deleteRevokedBefore(
+                LocalDateTime.now().minusNanos(jwtExpirationMs * 1_000_000L));
+        if (purged > 0) {
+            logger.info("Purged {} expired user revocations", purged);
+        }
+    }
+}
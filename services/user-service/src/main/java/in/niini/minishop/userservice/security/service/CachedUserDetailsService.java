@@ -0,0 +1,70 @@
+package in.niini.minishop.userservice.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.niini.minishop.userservice.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Caches {@link UserDetailsServiceImpl} lookups by username. Entries expire after a fixed TTL and
+ * are dropped as soon as a {@link UserChangedEvent} for the user is committed. Hit and miss counts
+ * are published as the {@code cache.*} metrics tagged {@code cache=userDetails}.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    public static final String CACHE_NAME = "userDetails";
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.user-cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, UserDetails> users;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Unknown usernames are not cached, so misses always reach the database
+        return users.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetails updated = userDetailsService.updatePassword(user, newPassword);
+        users.invalidate(user.getUsername());
+        return updated;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        users.invalidate(event.getUsername());
+    }
+}
@@ -0,0 +1,30 @@
+package in.niini.minishop.userservice.security.service;
+
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Writes a rehashed password in its own transaction, so a failed write is rolled back on its own
+ * and surfaces as an exception to the caller instead of failing the caller's transaction.
+ */
+@Component
+public class PasswordHashUpgrader {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<User> upgrade(String username, String newPassword) {
+        return userRepository.findByUsername(username)
+                .map(user -> {
+                    user.setPassword(newPassword);
+                    return userRepository.saveAndFlush(user);
+                });
+    }
+}
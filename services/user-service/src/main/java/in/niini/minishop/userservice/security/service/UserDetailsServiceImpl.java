@@ -2,18 +2,26 @@ package in.niini.minishop.userservice.security.service;
 
 import in.niini.minishop.userservice.model.User;
 import in.niini.minishop.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    PasswordHashUpgrader passwordHashUpgrader;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -22,4 +30,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a rehashed password after a successful signin. The write runs in its own transaction
+     * through {@link PasswordHashUpgrader}; if it fails only the upgrade is rolled back, the signin
+     * still succeeds and the upgrade is retried next time.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        try {
+            return passwordHashUpgrader.upgrade(userDetails.getUsername(), newPassword)
+                    .<UserDetails>map(UserDetailsImpl::build)
+                    .orElse(userDetails);
+        } catch (RuntimeException e) {
+            // Data access, validation and commit failures alike: the upgrade is best effort
+            logger.warn("Could not upgrade password hash for user {}: {}", userDetails.getUsername(), e.getMessage());
+            return userDetails;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.model.RefreshToken;
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.repository.RefreshTokenRepository;
+import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.jwt.TokenRevocationCache;
+import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues opaque refresh tokens and exchanges them for new ones. Only SHA-256 hashes are stored.
+ * Each exchange replaces the presented token within the same session; presenting a replaced token
+ * again revokes the whole session, since either the client or an attacker holds a stale copy.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TokenRevocationCache tokenRevocationCache;
+
+    @Value("${app.jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    /**
+     * Starts a new session for the user and returns its first refresh token.
+     */
+    @Transactional
+    public IssuedToken issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not valid"));
+
+        if (current.getRevokedAt() != null) {
+            throw new TokenRefreshException("Refresh token was revoked");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new TokenRefreshException("Refresh token has expired");
+        }
+        if (refreshTokenRepository.markReplaced(current.getId(), now) == 0) {
+            logger.warn("Replaced refresh token reused, revoking session {}", current.getSessionId());
+            revokeSession(current.getSessionId(), now);
+            throw new TokenRefreshException("Refresh token was already used");
+        }
+
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not valid"));
+        return new Rotation(UserDetailsImpl.build(user), issue(user.getId(), current.getSessionId()));
+    }
+
+    /**
+     * Ends the session of the given refresh token, including its access tokens. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> revokeSession(token.getSessionId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private IssuedToken issue(Long userId, String sessionId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .tokenHash(hash(rawToken))
+                .expiresAt(expiresAt)
+                .build());
+        return new IssuedToken(rawToken, sessionId, expiresAt);
+    }
+
+    private void revokeSession(String sessionId, LocalDateTime now) {
+        refreshTokenRepository.revokeSession(sessionId, now);
+        tokenRevocationCache.revokeSession(sessionId);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class IssuedToken {
+        private String token;
+        private String sessionId;
+        private LocalDateTime expiresAt;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Rotation {
+        private UserDetailsImpl user;
+        private IssuedToken refreshToken;
+    }
+}
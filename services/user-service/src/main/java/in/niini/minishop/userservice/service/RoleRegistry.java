@@ -0,0 +1,48 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.model.Role;
+import in.niini.minishop.userservice.model.Role.ERole;
+import in.niini.minishop.userservice.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * In-memory copy of the {@code roles} table, which only holds the rows seeded by the migrations.
+ * Loaded at startup and reloaded by admins through {@code POST /roles/refresh}; a role missing from
+ * memory is looked up once and then kept.
+ */
+@Component
+public class RoleRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles = new EnumMap<>(ERole.class);
+
+    @PostConstruct
+    public void refresh() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+        roles = loaded;
+        logger.info("Loaded {} roles", loaded.size());
+    }
+
+    public Role getRole(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            role = roleRepository.findByName(name)
+                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
+            Map<ERole, Role> updated = new EnumMap<>(roles);
+            updated.put(name, role);
+            roles = updated;
+        }
+        return role;
+    }
+}
@@ -0,0 +1,12 @@
+package in.niini.minishop.userservice.service;
+
+/**
+ * Thrown when a refresh token is unknown, expired, revoked or already used.
+ */
+public class TokenRefreshException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.payload.response.UserSummaryResponse;
+import in.niini.minishop.userservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserService {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "username", "email", "createdAt");
+
+    @Autowired
+    UserRepository userRepository;
+
+    /**
+     * Lists users without loading entities: one projection query for the page (plus its count)
+     * and one query for the roles of every user on it. Sorting is limited to
+     * {@link #SORTABLE_PROPERTIES}; other sort properties are ignored.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSummaryResponse> listUsers(Pageable pageable) {
+        Page<UserRepository.UserSummary> page = userRepository.findAllSummaries(sanitize(pageable));
+        List<Long> ids = page.getContent().stream()
+                .map(UserRepository.UserSummary::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<String>> roles = ids.isEmpty()
+                ? Collections.emptyMap()
+                : userRepository.findRolesByUserIdIn(ids).stream()
+                        .collect(Collectors.groupingBy(UserRepository.UserRoleView::getUserId,
+                                Collectors.mapping(view -> view.getRole().name(), Collectors.toList())));
+
+        return page.map(user -> new UserSummaryResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getCreatedAt(),
+                roles.getOrDefault(user.getId(), new ArrayList<>())));
+    }
+
+    private Pageable sanitize(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> SORTABLE_PROPERTIES.contains(order.getProperty()))
+                .collect(Collectors.toList()));
+        if (sort.isUnsorted()) {
+            sort = Sort.by("id");
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
@@ -0,0 +1,17 @@
+-- Refresh tokens, stored as SHA-256 hashes. All tokens rotated from one signin share a session_id,
+-- which access tokens carry as their sid claim.
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    session_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    replaced_at TIMESTAMP,
+    revoked_at TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_session_id ON refresh_tokens (session_id);
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,9 @@
+-- Users whose previously issued access tokens must be rejected, e.g. after the account was deleted.
+-- No foreign key: the row has to outlive the deleted user until the tokens it cancels expire.
+CREATE TABLE user_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_user_revocations_revoked_at ON user_revocations (revoked_at);
@@ -6,16 +6,22 @@ import in.niini.minishop.userservice.model.Role.ERole;
 import in.niini.minishop.userservice.model.User;
 import in.niini.minishop.userservice.payload.request.LoginRequest;
 import in.niini.minishop.userservice.payload.request.SignupRequest;
+import in.niini.minishop.userservice.payload.request.TokenRefreshRequest;
 import in.niini.minishop.userservice.repository.RoleRepository;
 import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.PasswordHashingRejectedException;
 import in.niini.minishop.userservice.security.jwt.JwtUtils;
 import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import in.niini.minishop.userservice.service.RefreshTokenService;
+import in.niini.minishop.userservice.service.TokenRefreshException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,6 +31,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
@@ -33,6 +41,7 @@ import java.util.Set;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -62,6 +71,9 @@ public class AuthControllerTests {
     @MockBean
     private JwtUtils jwtUtils;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     private UserDetailsImpl userDetails;
     private Authentication authentication;
 
@@ -83,7 +95,11 @@ public class AuthControllerTests {
                 .thenReturn(authentication);
 
         // Mock JWT utils
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("test-jwt-token");
+        when(jwtUtils.generateJwtToken(authentication, "session-1")).thenReturn("test-jwt-token");
+
+        // Mock refresh token service
+        when(refreshTokenService.issue(1L)).thenReturn(
+                new RefreshTokenService.IssuedToken("test-refresh-token", "session-1", LocalDateTime.now().plusDays(30)));
 
         // Mock role repository
         Role userRole = new Role();
@@ -108,12 +124,48 @@ public class AuthControllerTests {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("test-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("test-refresh-token"))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
     }
 
+    @Test
+    public void testRefreshToken() throws Exception {
+        // Given
+        TokenRefreshRequest refreshRequest = new TokenRefreshRequest();
+        refreshRequest.setRefreshToken("test-refresh-token");
+        when(refreshTokenService.rotate("test-refresh-token")).thenReturn(new RefreshTokenService.Rotation(userDetails,
+                new RefreshTokenService.IssuedToken("next-refresh-token", "session-1", LocalDateTime.now().plusDays(30))));
+        when(jwtUtils.generateJwtToken(userDetails, "session-1")).thenReturn("next-jwt-token");
+
+        // When/Then
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("next-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("next-refresh-token"))
+                .andExpect(jsonPath("$.username").value("testuser"));
+    }
+
+    @Test
+    public void testRefreshToken_Rejected() throws Exception {
+        // Given
+        TokenRefreshRequest refreshRequest = new TokenRefreshRequest();
+        refreshRequest.setRefreshToken("used-refresh-token");
+        when(refreshTokenService.rotate("used-refresh-token"))
+                .thenThrow(new TokenRefreshException("Refresh token was already used"));
+
+        // When/Then
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Error: Refresh token was already used"));
+    }
+
     @Test
     public void testRegisterUser() throws Exception {
         // Given
@@ -124,8 +176,7 @@ public class AuthControllerTests {
         signupRequest.setRoles(Collections.singleton("user"));
 
         // Mock user repository
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("newuser@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When/Then
         mockMvc.perform(post("/auth/signup")
@@ -144,7 +195,7 @@ public class AuthControllerTests {
         signupRequest.setPassword("password");
 
         // Mock user repository
-        when(userRepository.existsByUsername("existinguser")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenThrow(uniqueViolation("users_username_key"));
 
         // When/Then
         mockMvc.perform(post("/auth/signup")
@@ -163,8 +214,7 @@ public class AuthControllerTests {
         signupRequest.setPassword("password");
 
         // Mock user repository
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenThrow(uniqueViolation("users_email_key"));
 
         // When/Then
         mockMvc.perform(post("/auth/signup")
@@ -173,4 +223,52 @@ public class AuthControllerTests {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Error: Email is already in use!"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRegisterUser_UsernameExistsWithoutConstraintName() throws Exception {
+        // Given
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("existinguser");
+        signupRequest.setEmail("newuser@example.com");
+        signupRequest.setPassword("password");
+
+        // Mock user repository
+        SQLException sqlException = new SQLException(
+                "Unique index or primary key violation: \"PUBLIC.UK_INDEX_4 ON PUBLIC.USERS(USERNAME NULLS FIRST)\"");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, "PUBLIC.UK_INDEX_4")));
+
+        // When/Then
+        mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Username is already taken!"));
+    }
+
+    @Test
+    public void testRegisterUser_HashingSaturated() throws Exception {
+        // Given
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("newuser");
+        signupRequest.setEmail("newuser@example.com");
+        signupRequest.setPassword("password");
+
+        // Mock password encoder
+        when(encoder.encode(any(String.class))).thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+        // When/Then
+        mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        SQLException sqlException = new SQLException(
+                "ERROR: duplicate key value violates unique constraint \"" + constraintName + "\"", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
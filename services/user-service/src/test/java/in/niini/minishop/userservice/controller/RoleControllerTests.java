@@ -0,0 +1,54 @@
+package in.niini.minishop.userservice.controller;
+
+import in.niini.minishop.userservice.service.RoleRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RoleControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RoleRegistry roleRegistry;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testRefreshRoles() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/roles/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Roles reloaded"));
+
+        verify(roleRegistry).refresh();
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    public void testRefreshRoles_Forbidden() throws Exception {
+        // Given
+        clearInvocations(roleRegistry);
+
+        // When/Then
+        mockMvc.perform(post("/roles/refresh"))
+                .andExpect(status().isForbidden());
+
+        verify(roleRegistry, never()).refresh();
+    }
+}
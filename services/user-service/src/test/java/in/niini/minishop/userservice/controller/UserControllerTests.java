@@ -3,15 +3,19 @@ package in.niini.minishop.userservice.controller;
 import in.niini.minishop.userservice.model.Role;
 import in.niini.minishop.userservice.model.Role.ERole;
 import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.payload.response.UserSummaryResponse;
 import in.niini.minishop.userservice.repository.UserRepository;
 import in.niini.minishop.userservice.security.jwt.JwtUtils;
 import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import in.niini.minishop.userservice.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -23,7 +27,12 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -42,6 +51,9 @@ public class UserControllerTests {
     @MockBean
     private JwtUtils jwtUtils;
 
+    @MockBean
+    private UserService userService;
+
     private User testUser;
 
     @BeforeEach
@@ -114,4 +126,60 @@ public class UserControllerTests {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetUserById_Self() throws Exception {
+        // Given
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "testuser", "test@example.com", null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // When/Then
+        mockMvc.perform(get("/users/1")
+                .with(user(principal))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("testuser"));
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testGetUserById_OtherUserForbidden() throws Exception {
+        // Given
+        UserDetailsImpl principal = new UserDetailsImpl(2L, "otheruser", "other@example.com", null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // When/Then
+        mockMvc.perform(get("/users/1")
+                .with(user(principal))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        verify(userRepository, never()).findById(1L);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testGetAllUsers() throws Exception {
+        // Given
+        when(userService.listUsers(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.singletonList(
+                new UserSummaryResponse(1L, "testuser", "test@example.com", null, null, null,
+                        Collections.singletonList("ROLE_USER")))));
+
+        // When/Then
+        mockMvc.perform(get("/users?page=0&size=10&sort=username")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("testuser"))
+                .andExpect(jsonPath("$.content[0].roles[0]").value("ROLE_USER"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    public void testGetAllUsers_Forbidden() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/users")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+}
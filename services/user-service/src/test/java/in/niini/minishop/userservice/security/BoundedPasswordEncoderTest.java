@@ -0,0 +1,89 @@
+package in.niini.minishop.userservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEncodeAndMatches() {
+        // Given
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4),
+                executor, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        String hash = encoder.encode("password");
+
+        // Then
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release),
+                executor, Duration.ofSeconds(5), meterRegistry);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        // When/Then
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("password"));
+        release.countDown();
+    }
+
+    @Test
+    public void testRejectsWhenWaitExceedsTimeout() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release),
+                executor, Duration.ofMillis(50), meterRegistry);
+
+        // When/Then
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("password"));
+        release.countDown();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
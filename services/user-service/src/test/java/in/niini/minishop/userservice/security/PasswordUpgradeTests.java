@@ -0,0 +1,114 @@
+package in.niini.minishop.userservice.security;
+
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PasswordUpgradeTests {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsPasswordService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testLegacyHashIsUpgradedOnSignin() {
+        // Given
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+        saveUser("legacyuser", legacyHash);
+
+        // When
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("legacyuser", "password"));
+
+        // Then
+        String stored = userRepository.findByUsername("legacyuser").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("password", stored));
+    }
+
+    @Test
+    public void testCurrentHashIsKept() {
+        // Given
+        String currentHash = passwordEncoder.encode("password");
+        saveUser("currentuser", currentHash);
+
+        // When
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("currentuser", "password"));
+
+        // Then
+        assertEquals(currentHash, userRepository.findByUsername("currentuser").orElseThrow().getPassword());
+    }
+
+    @Test
+    public void testFailedUpgradeDoesNotFailSignin() {
+        // Given - a row the entity no longer validates, so writing the new hash fails at flush
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+        jdbcTemplate.update("INSERT INTO users (username, email, password) VALUES (?, ?, ?)",
+                "brokenuser", "not-an-email", legacyHash);
+
+        // When
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("brokenuser", "password"));
+
+        // Then - the signin succeeds and the upgrade is retried next time
+        assertTrue(authentication.isAuthenticated());
+        assertEquals(legacyHash, userRepository.findByUsername("brokenuser").orElseThrow().getPassword());
+    }
+
+    @Test
+    public void testFailedUpgradeKeepsUserDetails() {
+        // Given
+        String currentHash = passwordEncoder.encode("password");
+        saveUser("longhashuser", currentHash);
+        UserDetails userDetails = userDetailsPasswordService.loadUserByUsername("longhashuser");
+
+        // When - a hash longer than the password column
+        UserDetails updated = userDetailsPasswordService.updatePassword(userDetails, "{bcrypt}" + "x".repeat(200));
+
+        // Then
+        assertSame(userDetails, updated);
+        assertEquals(currentHash, userRepository.findByUsername("longhashuser").orElseThrow().getPassword());
+    }
+
+    private void saveUser(String username, String passwordHash) {
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password(passwordHash)
+                .roles(new HashSet<>())
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package in.niini.minishop.userservice.security.jwt;
+
+import in.niini.minishop.userservice.model.UserRevocation;
+import in.niini.minishop.userservice.repository.UserRevocationRepository;
+import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import in.niini.minishop.userservice.security.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AuthTokenFilterTests {
+
+    @Autowired
+    private AuthTokenFilter authTokenFilter;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Autowired
+    private UserRevocationRepository userRevocationRepository;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @AfterEach
+    public void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testAuthenticatesFromClaimsWithoutUserLookup() throws Exception {
+        // Given
+        MockHttpServletRequest request = requestWithToken(tokenFor(1L));
+
+        // When
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void testRejectsTokenOfRevokedUser() throws Exception {
+        // Given
+        MockHttpServletRequest request = requestWithToken(tokenFor(2L));
+        tokenRevocationCache.revokeUser(2L);
+
+        // When
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testRejectsTokenOfUserRevokedOnAnotherInstance() throws Exception {
+        // Given - another instance deleted the user and stored the revocation
+        MockHttpServletRequest request = requestWithToken(tokenFor(4L));
+        userRevocationRepository.save(UserRevocation.builder().userId(4L).revokedAt(LocalDateTime.now()).build());
+        tokenRevocationCache.loadRevocations();
+
+        // When
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testRejectsTokenOfRevokedSession() throws Exception {
+        // Given
+        MockHttpServletRequest request = requestWithToken(jwtUtils.generateJwtToken(userDetailsFor(3L), "session-3"));
+        tokenRevocationCache.revokeSession("session-3");
+
+        // When
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private String tokenFor(Long id) {
+        UserDetailsImpl userDetails = userDetailsFor(id);
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private UserDetailsImpl userDetailsFor(Long id) {
+        return new UserDetailsImpl(id, "testuser", "test@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -1,9 +1,15 @@
 package in.niini.minishop.userservice.security.jwt;
 
 import in.niini.minishop.userservice.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -11,6 +17,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +29,9 @@ public class JwtUtilsTest {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
     private UserDetailsImpl userDetails;
     private Authentication authentication;
 
@@ -77,4 +88,87 @@ public class JwtUtilsTest {
         // Then
         assertEquals("testuser", username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetValidatedClaims() {
+        // Given
+        String token = jwtUtils.generateJwtToken(authentication);
+
+        // When
+        Optional<Claims> claims = jwtUtils.getValidatedClaims(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertEquals("testuser", claims.get().getSubject());
+        assertEquals("minishop-test", claims.get().getIssuer());
+    }
+
+    @Test
+    public void testGetValidatedClaims_ReusesVerifiedToken() {
+        // Given
+        String token = jwtUtils.generateJwtToken(authentication);
+        Claims first = jwtUtils.getValidatedClaims(token).orElseThrow();
+
+        // When
+        Claims second = jwtUtils.getValidatedClaims(token).orElseThrow();
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testGetValidatedClaims_TamperedSignature() {
+        // Given
+        String token = jwtUtils.generateJwtToken(authentication);
+        jwtUtils.getValidatedClaims(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When/Then
+        assertFalse(jwtUtils.getValidatedClaims(tampered).isPresent());
+    }
+
+    @Test
+    public void testGetValidatedClaims_Expired() {
+        // Given
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // When/Then
+        assertFalse(jwtUtils.getValidatedClaims(token).isPresent());
+    }
+
+    @Test
+    public void testGetUserDetailsFromClaims() {
+        // Given
+        String token = jwtUtils.generateJwtToken(authentication);
+        Claims claims = jwtUtils.getValidatedClaims(token).orElseThrow();
+
+        // When
+        UserDetailsImpl principal = jwtUtils.getUserDetailsFromClaims(claims);
+
+        // Then
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("test@example.com", principal.getEmail());
+        assertNull(principal.getPassword());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    public void testGetUserDetailsFromClaims_LegacyToken() {
+        // Given
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)), SignatureAlgorithm.HS256)
+                .compact();
+        Claims claims = jwtUtils.getValidatedClaims(token).orElseThrow();
+
+        // When/Then
+        assertNull(jwtUtils.getUserDetailsFromClaims(claims));
+    }
+}
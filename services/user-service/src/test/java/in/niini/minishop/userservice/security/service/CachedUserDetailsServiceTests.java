@@ -0,0 +1,91 @@
+package in.niini.minishop.userservice.security.service;
+
+import in.niini.minishop.userservice.event.UserChangedEvent;
+import in.niini.minishop.userservice.model.Role;
+import in.niini.minishop.userservice.model.Role.ERole;
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CachedUserDetailsServiceTests {
+
+    @Autowired
+    private CachedUserDetailsService cachedUserDetailsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setup() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+
+        Set<Role> roles = new HashSet<>();
+        Role role = new Role();
+        role.setId(1);
+        role.setName(ERole.ROLE_USER);
+        roles.add(role);
+        user.setRoles(roles);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        eventPublisher.publishEvent(new UserChangedEvent(1L, "testuser"));
+    }
+
+    @Test
+    public void testLoadUserByUsername_ServedFromCache() {
+        // Given
+        UserDetails first = cachedUserDetailsService.loadUserByUsername("testuser");
+
+        // When
+        UserDetails second = cachedUserDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertTrue(meterRegistry.get("cache.gets")
+                .tag("cache", CachedUserDetailsService.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    public void testUserChangedEventEvictsEntry() {
+        // Given
+        cachedUserDetailsService.loadUserByUsername("testuser");
+
+        // When
+        eventPublisher.publishEvent(new UserChangedEvent(1L, "testuser"));
+        cachedUserDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+}
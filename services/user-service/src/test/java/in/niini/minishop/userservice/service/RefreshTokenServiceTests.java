@@ -0,0 +1,98 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.repository.RefreshTokenRepository;
+import in.niini.minishop.userservice.repository.UserRepository;
+import in.niini.minishop.userservice.security.jwt.TokenRevocationCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = userRepository.save(User.builder()
+                .username("refresher")
+                .email("refresher@example.com")
+                .password("encoded-password")
+                .roles(new HashSet<>())
+                .build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testRotate_IssuesNewTokenInSameSession() {
+        // Given
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(user.getId());
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued.getToken());
+
+        // Then
+        assertEquals("refresher", rotation.getUser().getUsername());
+        assertEquals(issued.getSessionId(), rotation.getRefreshToken().getSessionId());
+        assertNotEquals(issued.getToken(), rotation.getRefreshToken().getToken());
+        assertFalse(tokenRevocationCache.isSessionRevoked(issued.getSessionId()));
+    }
+
+    @Test
+    public void testRotate_ReusedTokenRevokesSession() {
+        // Given
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(user.getId());
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued.getToken());
+
+        // When/Then
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotate(issued.getToken()));
+        assertTrue(tokenRevocationCache.isSessionRevoked(issued.getSessionId()));
+        assertThrows(TokenRefreshException.class,
+                () -> refreshTokenService.rotate(rotation.getRefreshToken().getToken()));
+    }
+
+    @Test
+    public void testRotate_UnknownToken() {
+        // When/Then
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotate("unknown-token"));
+    }
+
+    @Test
+    public void testRevoke_EndsSession() {
+        // Given
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(user.getId());
+
+        // When
+        refreshTokenService.revoke(issued.getToken());
+
+        // Then
+        assertTrue(tokenRevocationCache.isSessionRevoked(issued.getSessionId()));
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotate(issued.getToken()));
+    }
+}
@@ -0,0 +1,76 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.model.Role;
+import in.niini.minishop.userservice.model.Role.ERole;
+import in.niini.minishop.userservice.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RoleRegistryTests {
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @MockBean
+    private RoleRepository roleRepository;
+
+    @Test
+    public void testGetRole_ResolvedWithoutQuery() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(Arrays.asList(
+                new Role(1, ERole.ROLE_USER), new Role(2, ERole.ROLE_MODERATOR), new Role(3, ERole.ROLE_ADMIN)));
+        roleRegistry.refresh();
+
+        // When
+        Role admin = roleRegistry.getRole(ERole.ROLE_ADMIN);
+        Role user = roleRegistry.getRole(ERole.ROLE_USER);
+
+        // Then
+        assertEquals(3, admin.getId());
+        assertEquals(1, user.getId());
+        verify(roleRepository, never()).findByName(any());
+    }
+
+    @Test
+    public void testGetRole_MissingRoleLoadedOnce() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(Collections.emptyList());
+        when(roleRepository.findByName(ERole.ROLE_USER)).thenReturn(Optional.of(new Role(1, ERole.ROLE_USER)));
+        roleRegistry.refresh();
+
+        // When
+        roleRegistry.getRole(ERole.ROLE_USER);
+        Role user = roleRegistry.getRole(ERole.ROLE_USER);
+
+        // Then
+        assertEquals(1, user.getId());
+        verify(roleRepository, times(1)).findByName(ERole.ROLE_USER);
+    }
+
+    @Test
+    public void testGetRole_UnknownRole() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(Collections.emptyList());
+        when(roleRepository.findByName(ERole.ROLE_ADMIN)).thenReturn(Optional.empty());
+        roleRegistry.refresh();
+
+        // When/Then
+        assertThrows(RuntimeException.class, () -> roleRegistry.getRole(ERole.ROLE_ADMIN));
+    }
+}
@@ -0,0 +1,102 @@
+package in.niini.minishop.userservice.service;
+
+import in.niini.minishop.userservice.model.Role;
+import in.niini.minishop.userservice.model.Role.ERole;
+import in.niini.minishop.userservice.model.User;
+import in.niini.minishop.userservice.payload.response.UserSummaryResponse;
+import in.niini.minishop.userservice.repository.RoleRepository;
+import in.niini.minishop.userservice.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserServiceTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Role user = roleRepository.save(new Role(null, ERole.ROLE_USER));
+        Role admin = roleRepository.save(new Role(null, ERole.ROLE_ADMIN));
+        saveUser("carol", user);
+        saveUser("alice", user, admin);
+        saveUser("bob", user);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    public void testListUsers_PageSortedWithRoles() {
+        // Given
+        statistics.clear();
+
+        // When
+        Page<UserSummaryResponse> page = userService.listUsers(PageRequest.of(0, 2, Sort.by("username")));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(Arrays.asList("alice", "bob"), page.getContent().stream()
+                .map(UserSummaryResponse::getUsername)
+                .collect(Collectors.toList()));
+        assertEquals(new HashSet<>(Arrays.asList("ROLE_USER", "ROLE_ADMIN")),
+                new HashSet<>(page.getContent().get(0).getRoles()));
+        assertEquals(Arrays.asList("ROLE_USER"), page.getContent().get(1).getRoles());
+        // Page, count and roles; no per-user role fetch
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testListUsers_UnknownSortPropertyIgnored() {
+        // When
+        Page<UserSummaryResponse> page = userService.listUsers(PageRequest.of(0, 10, Sort.by("password")));
+
+        // Then
+        assertEquals(Arrays.asList("carol", "alice", "bob"), page.getContent().stream()
+                .map(UserSummaryResponse::getUsername)
+                .collect(Collectors.toList()));
+    }
+
+    private void saveUser(String username, Role... roles) {
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("encoded-password")
+                .roles(new HashSet<>(Arrays.asList(roles)))
+                .build());
+    }
+}